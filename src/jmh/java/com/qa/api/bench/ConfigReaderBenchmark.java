@@ -0,0 +1,48 @@
+package com.qa.api.bench;
+
+import com.qa.api.utils.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lecturas de configuración en el camino de cada request (con 4 hilos, como una suite en paralelo).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ConfigReaderBenchmark {
+
+    @Benchmark
+    public String baseUrl() {
+        return ConfigReader.getBaseUrl();
+    }
+
+    @Benchmark
+    public String property() {
+        return ConfigReader.getProperty("api.auth.token");
+    }
+
+    @Benchmark
+    public int typedInt() {
+        return ConfigReader.getInt("api.pool.size", 1);
+    }
+
+    @Benchmark
+    public String missingProperty() {
+        return ConfigReader.getProperty("bench.missing.key", "default");
+    }
+}
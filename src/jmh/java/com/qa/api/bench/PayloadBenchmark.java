@@ -0,0 +1,63 @@
+package com.qa.api.bench;
+
+import com.qa.api.model.User;
+import com.qa.api.utils.JsonSupport;
+import com.qa.api.utils.TestDataGenerator;
+import com.qa.api.utils.UserPayloadWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de construir el body de postCreateUserApi: generación de datos + serialización.
+ * jacksonUser es la referencia (ObjectMapper sobre el modelo User).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayloadBenchmark {
+
+    private TestDataGenerator generator;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        generator = new TestDataGenerator(42L, "bench");
+        user = generator.userAt(0);
+    }
+
+    @Benchmark
+    public User generateUser() {
+        return generator.nextUser();
+    }
+
+    @Benchmark
+    public byte[] payloadWriter() {
+        return UserPayloadWriter.write(user.getName(), user.getEmail(), user.getGender(), user.getStatus());
+    }
+
+    @Benchmark
+    public byte[] generateAndWrite() {
+        User next = generator.nextUser();
+        return UserPayloadWriter.write(next.getName(), next.getEmail(), next.getGender(), next.getStatus());
+    }
+
+    @Benchmark
+    public byte[] jacksonUser() throws IOException {
+        return JsonSupport.writeUser(user).getBytes(StandardCharsets.UTF_8);
+    }
+}
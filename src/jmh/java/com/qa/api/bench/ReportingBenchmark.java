@@ -0,0 +1,95 @@
+package com.qa.api.bench;
+
+import com.qa.api.metrics.ClientMetrics;
+import com.qa.api.utils.AsyncLog;
+import com.qa.api.utils.StreamingReportWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobrecoste del harness por request y por test: logging asíncrono, métricas del cliente y una línea
+ * del reporte incremental. La salida estándar se descarta para medir solo el coste del llamador.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dlog.level=FULL", "-Dlog.sample.rate=1.0"})
+@State(Scope.Benchmark)
+public class ReportingBenchmark {
+
+    private static final byte[] BODY = ("{\"id\":7345123,\"name\":\"Ana García\","
+            + "\"email\":\"user.bench.2f@example.com\",\"gender\":\"female\",\"status\":\"active\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private PrintStream originalOut;
+    private Path reportFile;
+    private StreamingReportWriter reportWriter;
+    private StreamingReportWriter.Record record;
+    private ClientMetrics metrics;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // AsyncLog captura System.out al inicializarse: se sustituye antes de usarlo
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        reportFile = Files.createTempFile("bench-results", ".ndjson");
+        reportWriter = new StreamingReportWriter(reportFile);
+        record = new StreamingReportWriter.Record();
+        record.setSuite("bench");
+        record.setTest("bench");
+        record.setClassName("com.qa.api.test.PostCreateUserTest");
+        record.setMethod("testCreateUser");
+        record.setStatus("PASS");
+        record.setStart(1L);
+        record.setEnd(2L);
+        metrics = new ClientMetrics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        AsyncLog.flush();
+        reportWriter.close();
+        Files.deleteIfExists(reportFile);
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void asyncLogInfo() {
+        AsyncLog.info("Response Status: ", 201);
+    }
+
+    @Benchmark
+    public void asyncLogBody() {
+        AsyncLog.body("Response Body: ", BODY);
+    }
+
+    @Benchmark
+    public void clientMetricsRecord() {
+        metrics.record("create", "POST", "https://gorest.co.in/public/v2/users/7345123", 201, 12_345_678L,
+                BODY.length, BODY.length);
+    }
+
+    @Benchmark
+    public void streamReportAppend() {
+        reportWriter.append(record);
+    }
+}
@@ -0,0 +1,90 @@
+package com.qa.api.bench;
+
+import com.qa.api.utils.JsonSupport;
+import com.qa.api.utils.UserStreamParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de respuestas con bodies fijos: extractUserId (streaming) frente a árbol JSON, y listados
+ * de usuarios de distintos tamaños con UserStreamParser frente a readUsers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    private static final String USER = "{\"id\":7345123,\"name\":\"Ana García\","
+            + "\"email\":\"user.bench.2f@example.com\",\"gender\":\"female\",\"status\":\"active\"}";
+
+    private byte[] createdBody;
+
+    @Setup
+    public void setUp() {
+        createdBody = USER.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String extractUserIdStreaming() throws IOException {
+        return UserStreamParser.readId(createdBody);
+    }
+
+    @Benchmark
+    public String extractUserIdTree() throws IOException {
+        return JsonSupport.readTree(createdBody).get("id").asText();
+    }
+
+    @Benchmark
+    public UserStreamParser.Result parseListStreaming(UserList list, Blackhole blackhole) throws IOException {
+        return UserStreamParser.parseUsers(list.body, user -> {
+            blackhole.consume(user);
+            return true;
+        });
+    }
+
+    @Benchmark
+    public Object parseListDataBind(UserList list) throws IOException {
+        return JsonSupport.readUsers(list.body);
+    }
+
+    /**
+     * Body de GET /users con listSize usuarios.
+     */
+    @State(Scope.Benchmark)
+    public static class UserList {
+
+        @Param({"10", "100"})
+        private int listSize;
+
+        private byte[] body;
+
+        @Setup
+        public void setUp() {
+            StringBuilder list = new StringBuilder("[");
+            for (int i = 0; i < listSize; i++) {
+                if (i > 0) {
+                    list.append(',');
+                }
+                list.append(USER.replace("7345123", String.valueOf(7345123 + i)));
+            }
+            body = list.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.qa.api.load;
+
+/**
+ * Operaciones CRUD sobre /users que puede reproducir el LoadRunner.
+ */
+public enum LoadOperation {
+    CREATE(201),
+    LIST(200),
+    GET(200),
+    UPDATE(200),
+    DELETE(204);
+
+    private final int expectedStatus;
+
+    LoadOperation(int expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+
+    public int expectedStatus() {
+        return expectedStatus;
+    }
+
+    // Indica si la operación necesita un usuario existente
+    public boolean needsUser() {
+        return this == GET || this == UPDATE || this == DELETE;
+    }
+}
@@ -0,0 +1,97 @@
+package com.qa.api.load;
+
+import com.qa.api.utils.ConfigReader;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de una ejecución de carga.
+ *
+ * CLOSED: número fijo de usuarios virtuales, cada uno envía la siguiente request al recibir la anterior.
+ * OPEN: tasa de llegada constante (requests por segundo), independiente de la latencia del servidor.
+ */
+public class LoadProfile {
+
+    public enum Mode { CLOSED, OPEN }
+
+    private final Mode mode;
+    private final int users;
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final OperationMix mix;
+    private final int maxBacklog;
+    private final Duration lateThreshold;
+
+    public LoadProfile(Mode mode, int users, double ratePerSecond, Duration duration, OperationMix mix) {
+        this(mode, users, ratePerSecond, duration, mix, users * 10, Duration.ofMillis(1));
+    }
+
+    public LoadProfile(Mode mode, int users, double ratePerSecond, Duration duration, OperationMix mix,
+                       int maxBacklog, Duration lateThreshold) {
+        if (users < 1) {
+            throw new IllegalArgumentException("At least one virtual user is required: " + users);
+        }
+        if (mode == Mode.OPEN && ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Open model requires a positive rate: " + ratePerSecond);
+        }
+        this.mode = mode;
+        this.users = users;
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.mix = mix;
+        this.maxBacklog = maxBacklog;
+        this.lateThreshold = lateThreshold;
+    }
+
+    // Construye el perfil a partir de las propiedades load.* de config.properties
+    public static LoadProfile fromConfig() {
+        int users = ConfigReader.getInt("load.users", 8);
+        return new LoadProfile(
+                Mode.valueOf(ConfigReader.getProperty("load.mode", "closed").toUpperCase()),
+                users,
+                ConfigReader.getDouble("load.rate", 10),
+                Duration.ofSeconds(ConfigReader.getLong("load.duration.seconds", 60)),
+                OperationMix.parse(ConfigReader.getProperty("load.mix", "create=2,list=3,get=3,update=1,delete=1")),
+                ConfigReader.getInt("load.max.backlog", users * 10),
+                Duration.ofMillis(ConfigReader.getLong("load.late.threshold.ms", 1)));
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    // En modo CLOSED es el número de usuarios virtuales; en OPEN, el máximo de requests concurrentes
+    public int users() {
+        return users;
+    }
+
+    public double ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    public Duration duration() {
+        return duration;
+    }
+
+    public OperationMix mix() {
+        return mix;
+    }
+
+    // Modelo abierto: requests que pueden esperar en cola cuando todos los workers están ocupados
+    public int maxBacklog() {
+        return maxBacklog;
+    }
+
+    // Modelo abierto: retraso sobre la hora planificada a partir del cual una request cuenta como tardía
+    public Duration lateThreshold() {
+        return lateThreshold;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.CLOSED
+                ? "closed model, " + users + " virtual users, " + duration.getSeconds() + "s, mix " + mix
+                : "open model, " + ratePerSecond + " req/s, max " + users + " in flight, "
+                        + duration.getSeconds() + "s, mix " + mix;
+    }
+}
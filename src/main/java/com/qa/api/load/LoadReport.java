@@ -0,0 +1,109 @@
+package com.qa.api.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Resumen de una ejecución de carga: throughput y percentiles de latencia por operación.
+ *
+ * Los percentiles se calculan sobre el tiempo de respuesta (desde la hora planificada); la columna
+ * "svc p99" muestra el tiempo de servicio para ver cuánto se debe a colas del propio cliente.
+ */
+public class LoadReport {
+
+    private final LoadProfile profile;
+    private final Duration elapsed;
+    private final Collection<OperationStats> stats;
+    private final long scheduled;
+    private final long late;
+    private final long dropped;
+
+    public LoadReport(LoadProfile profile, Duration elapsed, Collection<OperationStats> stats,
+                      OpenModelScheduler scheduler) {
+        this.profile = profile;
+        this.elapsed = elapsed;
+        this.stats = stats;
+        this.scheduled = scheduler != null ? scheduler.scheduled() : 0;
+        this.late = scheduler != null ? scheduler.late() : 0;
+        this.dropped = scheduler != null ? scheduler.dropped() : 0;
+    }
+
+    public LoadProfile profile() {
+        return profile;
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    public Collection<OperationStats> stats() {
+        return stats;
+    }
+
+    public long totalRequests() {
+        long total = 0;
+        for (OperationStats operationStats : stats) {
+            total += operationStats.successes() + operationStats.failures();
+        }
+        return total;
+    }
+
+    // Modelo abierto: requests planificadas, tardías y descartadas por saturación del cliente
+    public long scheduled() {
+        return scheduled;
+    }
+
+    public long late() {
+        return late;
+    }
+
+    public long dropped() {
+        return dropped;
+    }
+
+    public double throughput() {
+        return perSecond(totalRequests());
+    }
+
+    public void print(PrintStream out) {
+        out.println("=== Load report: " + profile + " ===");
+        out.printf("Elapsed: %.1f s, requests: %d, throughput: %.2f req/s%n",
+                elapsed.toMillis() / 1000.0, totalRequests(), throughput());
+        if (profile.mode() == LoadProfile.Mode.OPEN) {
+            out.printf("Scheduled: %d, late (> %d ms): %d, dropped: %d%n",
+                    scheduled, profile.lateThreshold().toMillis(), late, dropped);
+        }
+        out.printf("%-8s %8s %8s %9s %9s %9s %9s %9s %9s %11s%n",
+                "op", "ok", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (OperationStats operationStats : stats) {
+            long count = operationStats.successes() + operationStats.failures();
+            if (count == 0) {
+                continue;
+            }
+            Histogram histogram = operationStats.histogram();
+            out.printf("%-8s %8d %8d %9.2f %9.1f %9.1f %9.1f %9.1f %9.1f %11.1f%n",
+                    operationStats.operation().name().toLowerCase(),
+                    operationStats.successes(),
+                    operationStats.failures(),
+                    perSecond(count),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    millis(operationStats.serviceHistogram().getValueAtPercentile(99)));
+        }
+    }
+
+    private double perSecond(long count) {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return count * 1000.0 / millis;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
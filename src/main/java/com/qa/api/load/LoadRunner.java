@@ -0,0 +1,176 @@
+package com.qa.api.load;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.test.AdaptiveRateLimiter;
+import com.qa.api.test.PostCreateUser;
+import com.qa.api.utils.AsyncLog;
+import com.qa.api.utils.TestDataGenerator;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Reproduce una mezcla ponderada de operaciones CRUD de PostCreateUser contra el servidor configurado.
+ *
+ * Uso: java -cp ... com.qa.api.load.LoadRunner (parámetros en las propiedades load.* de config.properties)
+ */
+public class LoadRunner {
+
+    /**
+     * Envío de una operación de la mezcla; normalmente las llamadas de PostCreateUser (ver forClient).
+     */
+    @FunctionalInterface
+    public interface OperationCall {
+        // true si la respuesta tiene el status esperado; en CREATE, el ID del usuario creado se pasa a created
+        boolean execute(LoadOperation operation, String userId, Consumer<String> created) throws IOException;
+    }
+
+    private final OperationCall call;
+    private final LoadProfile profile;
+    private final Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+    // IDs de usuarios creados durante la ejecución, usados por GET/UPDATE/DELETE
+    private final ConcurrentLinkedDeque<String> userIds = new ConcurrentLinkedDeque<>();
+    private OpenModelScheduler scheduler;
+
+    public LoadRunner(PostCreateUser client, LoadProfile profile) {
+        this(forClient(client), profile);
+    }
+
+    public LoadRunner(OperationCall call, LoadProfile profile) {
+        this.call = call;
+        this.profile = profile;
+        for (LoadOperation operation : LoadOperation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        PostCreateUser.warmUp();
+        try {
+            LoadProfile profile = LoadProfile.fromConfig();
+            warnIfRateLimited(profile, PostCreateUser.rateLimiter());
+            LoadReport report = new LoadRunner(new PostCreateUser(), profile).run();
+            report.print(System.out);
+        } finally {
+            PostCreateUser.cleanup();
+        }
+    }
+
+    // Por encima de ratelimit.max.rate, el limitador del cliente (si llega a activarse) fija el ritmo real
+    static void warnIfRateLimited(LoadProfile profile, AdaptiveRateLimiter limiter) {
+        if (profile.mode() == LoadProfile.Mode.OPEN && limiter.isEnabled()
+                && profile.ratePerSecond() > limiter.maxRate()) {
+            AsyncLog.summary("Warning: load.rate ", profile.ratePerSecond() + " req/s is above ratelimit.max.rate "
+                    + limiter.maxRate() + " (rate limiter " + limiter.mode() + "); run with -Dratelimit.enabled=false"
+                    + " to measure the server instead of the client queue");
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + profile.duration().toNanos();
+        if (profile.mode() == LoadProfile.Mode.CLOSED) {
+            runClosed(deadline);
+        } else {
+            runOpen(deadline);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadReport(profile, elapsed, new ArrayList<>(stats.values()), scheduler);
+    }
+
+    // Modelo cerrado: cada usuario virtual envía la siguiente request al terminar la anterior
+    private void runClosed(long deadline) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(profile.users());
+        for (int i = 0; i < profile.users(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    executeTimed(profile.mix().next(), System.nanoTime());
+                }
+            });
+        }
+        workers.shutdown();
+        awaitTermination(workers, deadline);
+    }
+
+    // Modelo abierto: las requests se planifican a tasa fija, sin esperar a que terminen las anteriores
+    private void runOpen(long deadline) throws InterruptedException {
+        scheduler = new OpenModelScheduler(profile.ratePerSecond(), profile.users(),
+                profile.maxBacklog(), profile.lateThreshold().toNanos());
+        scheduler.run(System.nanoTime(), deadline, intended -> executeTimed(profile.mix().next(), intended));
+    }
+
+    private void awaitTermination(ExecutorService workers, long deadline) throws InterruptedException {
+        long grace = Math.max(deadline - System.nanoTime(), 0) + TimeUnit.SECONDS.toNanos(30);
+        if (!workers.awaitTermination(grace, TimeUnit.NANOSECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    // La latencia se mide desde la hora planificada; el tiempo de servicio, desde el envío real
+    private void executeTimed(LoadOperation requested, long intendedStart) {
+        String userId = null;
+        LoadOperation operation = requested;
+        if (requested.needsUser()) {
+            userId = requested == LoadOperation.DELETE ? userIds.pollFirst() : userIds.peekLast();
+            if (userId == null) {
+                operation = LoadOperation.CREATE;
+            }
+        }
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = call.execute(operation, userId, userIds::addLast);
+        } catch (IOException | RuntimeException e) {
+            success = false;
+        }
+        long end = System.nanoTime();
+        stats.get(operation).record(end - intendedStart, end - start, success);
+    }
+
+    // Operaciones reales contra la API a través de PostCreateUser
+    public static OperationCall forClient(PostCreateUser client) {
+        AtomicLong updateSequence = new AtomicLong();
+        return (operation, userId, created) -> {
+            APIResponse response;
+            switch (operation) {
+                case CREATE:
+                    response = client.postCreateUserApi();
+                    if (response.status() == operation.expectedStatus()) {
+                        created.accept(client.extractUserId(response));
+                    }
+                    break;
+                case LIST:
+                    response = client.getUsers();
+                    break;
+                case GET:
+                    response = client.getUserDetails(userId);
+                    break;
+                case UPDATE:
+                    long sequence = updateSequence.incrementAndGet();
+                    response = client.updateUser(userId, "Load User " + sequence,
+                            TestDataGenerator.shared().uniqueEmail("load"));
+                    break;
+                case DELETE:
+                    response = client.deleteUser(userId);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported operation: " + operation);
+            }
+            return response.status() == operation.expectedStatus();
+        };
+    }
+
+    public List<String> remainingUserIds() {
+        return new ArrayList<>(userIds);
+    }
+}
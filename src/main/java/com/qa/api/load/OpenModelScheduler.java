@@ -0,0 +1,111 @@
+package com.qa.api.load;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Planificador de modelo abierto con tasa objetivo fija.
+ *
+ * Cada request tiene una hora de envío planificada (inicio + i / rate), calculada de antemano y no a partir
+ * de la respuesta anterior. La tarea recibe esa hora planificada para medir la latencia desde ella, de modo
+ * que una pausa del servidor o del propio cliente no se oculte (coordinated omission).
+ * Si los workers y la cola están llenos, la request se descarta y se cuenta como dropped.
+ */
+public class OpenModelScheduler {
+
+    // Por debajo de este margen se hace spin en lugar de park para no perder precisión
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Tarea que recibe la hora planificada (System.nanoTime) en la que debía enviarse.
+     */
+    public interface ScheduledTask {
+        void run(long intendedStartNanos);
+    }
+
+    private final double ratePerSecond;
+    private final int maxConcurrency;
+    private final int maxBacklog;
+    private final long lateThresholdNanos;
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public OpenModelScheduler(double ratePerSecond, int maxConcurrency, int maxBacklog, long lateThresholdNanos) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.maxConcurrency = maxConcurrency;
+        this.maxBacklog = Math.max(maxBacklog, 1);
+        this.lateThresholdNanos = lateThresholdNanos;
+    }
+
+    // Despacha tareas a la tasa objetivo hasta el deadline y espera a que terminen las pendientes
+    public void run(long startNanos, long deadlineNanos, ScheduledTask task) throws InterruptedException {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxBacklog));
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        try {
+            for (long i = 0; ; i++) {
+                long intended = startNanos + (long) (i * periodNanos);
+                if (intended - deadlineNanos >= 0) {
+                    break;
+                }
+                waitUntil(intended);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                scheduled.increment();
+                try {
+                    workers.execute(() -> {
+                        if (System.nanoTime() - intended > lateThresholdNanos) {
+                            late.increment();
+                        }
+                        task.run(intended);
+                    });
+                } catch (RejectedExecutionException e) {
+                    dropped.increment();
+                }
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static void waitUntil(long targetNanos) {
+        long remaining;
+        while ((remaining = targetNanos - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    // Requests planificadas por el scheduler, incluidas las descartadas
+    public long scheduled() {
+        return scheduled.sum();
+    }
+
+    // Requests que empezaron más tarde que su hora planificada + umbral (cliente saturado)
+    public long late() {
+        return late.sum();
+    }
+
+    // Requests descartadas porque no había worker ni hueco en la cola
+    public long dropped() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,88 @@
+package com.qa.api.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mezcla ponderada de operaciones, por ejemplo "create=2,list=3,get=3,update=1,delete=1".
+ */
+public class OperationMix {
+
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final Map<LoadOperation, Integer> weights;
+
+    public OperationMix(Map<LoadOperation, Integer> weights) {
+        this.weights = new EnumMap<>(LoadOperation.class);
+        int total = 0;
+        int count = 0;
+        for (Map.Entry<LoadOperation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Negative weight for " + entry.getKey());
+            }
+            if (entry.getValue() > 0) {
+                this.weights.put(entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Operation mix must have at least one positive weight");
+        }
+        this.operations = new LoadOperation[count];
+        this.cumulativeWeights = new int[count];
+        int i = 0;
+        for (Map.Entry<LoadOperation, Integer> entry : this.weights.entrySet()) {
+            total += entry.getValue();
+            operations[i] = entry.getKey();
+            cumulativeWeights[i] = total;
+            i++;
+        }
+        this.totalWeight = total;
+    }
+
+    // Parsea el formato "operacion=peso" separado por comas
+    public static OperationMix parse(String spec) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String part : spec.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] pair = trimmed.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid operation mix entry: " + trimmed);
+            }
+            LoadOperation operation = LoadOperation.valueOf(pair[0].trim().toUpperCase());
+            weights.put(operation, Integer.parseInt(pair[1].trim()));
+        }
+        return new OperationMix(weights);
+    }
+
+    public LoadOperation next() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<LoadOperation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<LoadOperation, Integer> entry : weights.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(entry.getKey().name().toLowerCase()).append('=').append(entry.getValue());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.qa.api.load;
+
+import com.qa.api.metrics.LatencyHistograms;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y latencias de una operación. Recorder permite registrar desde muchos hilos sin bloqueo.
+ *
+ * Se registran dos histogramas: el tiempo de respuesta (desde la hora planificada de envío) y el
+ * tiempo de servicio (desde el envío real). En el modelo cerrado ambos coinciden.
+ */
+public class OperationStats {
+
+
+    private final LoadOperation operation;
+    private final Recorder recorder = LatencyHistograms.recorder();
+    private final Recorder serviceRecorder = LatencyHistograms.recorder();
+    private final Histogram accumulated = LatencyHistograms.histogram();
+    private final Histogram serviceAccumulated = LatencyHistograms.histogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public OperationStats(LoadOperation operation) {
+        this.operation = operation;
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        record(latencyNanos, latencyNanos, success);
+    }
+
+    public void record(long responseTimeNanos, long serviceTimeNanos, boolean success) {
+        recorder.recordValue(LatencyHistograms.toMicros(responseTimeNanos));
+        serviceRecorder.recordValue(LatencyHistograms.toMicros(serviceTimeNanos));
+        if (success) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    public LoadOperation operation() {
+        return operation;
+    }
+
+    public long successes() {
+        return successes.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    // Devuelve el histograma de tiempo de respuesta acumulado desde el inicio de la ejecución
+    public synchronized Histogram histogram() {
+        accumulated.add(recorder.getIntervalHistogram());
+        return accumulated.copy();
+    }
+
+    // Devuelve el histograma de tiempo de servicio acumulado desde el inicio de la ejecución
+    public synchronized Histogram serviceHistogram() {
+        serviceAccumulated.add(serviceRecorder.getIntervalHistogram());
+        return serviceAccumulated.copy();
+    }
+
+}
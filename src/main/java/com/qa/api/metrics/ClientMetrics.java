@@ -0,0 +1,218 @@
+package com.qa.api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas por request del cliente de la API, agrupadas por operación, método y endpoint.
+ *
+ * Cada serie guarda la latencia en un Recorder de HdrHistogram (los hilos registran sin bloquearse),
+ * el número de requests por status y los bytes enviados y recibidos. El endpoint se normaliza quitando
+ * host y query y sustituyendo los IDs numéricos por {id}, para que las series no crezcan sin límite.
+ */
+public class ClientMetrics {
+
+    private static final ClientMetrics GLOBAL = new ClientMetrics();
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private final ConnectionStats connections = new ConnectionStats();
+
+    public static ClientMetrics global() {
+        return GLOBAL;
+    }
+
+    // status < 0 indica un error de transporte sin respuesta
+    public void record(String operation, String method, String url, int status, long latencyNanos,
+                       long requestBytes, long responseBytes) {
+        String endpoint = endpoint(url);
+        String key = operation + ' ' + method + ' ' + endpoint;
+        Series target = series.get(key);
+        if (target == null) {
+            target = series.computeIfAbsent(key, k -> new Series(operation, method, endpoint));
+        }
+        target.record(status, latencyNanos, requestBytes, responseBytes);
+    }
+
+    public ConnectionStats connections() {
+        return connections;
+    }
+
+    // Copia consistente de todas las series, ordenadas por operación y endpoint
+    public List<SeriesSnapshot> snapshot() {
+        List<SeriesSnapshot> snapshots = new ArrayList<>();
+        for (Series value : new TreeMap<>(series).values()) {
+            snapshots.add(value.snapshot());
+        }
+        return snapshots;
+    }
+
+    public void reset() {
+        series.clear();
+    }
+
+    // Se recorre la URL a mano: URI.create y una regex por request costaban más que el resto del registro
+    static String endpoint(String url) {
+        int scheme = url.indexOf("://");
+        int start = scheme >= 0 ? url.indexOf('/', scheme + 3) : url.indexOf('/');
+        if (start < 0) {
+            return "/";
+        }
+        int end = url.length();
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        StringBuilder path = new StringBuilder(end - start + 4);
+        int segmentStart = start;
+        while (segmentStart < end) {
+            int segmentEnd = url.indexOf('/', segmentStart + 1);
+            if (segmentEnd < 0 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+            if (isNumeric(url, segmentStart + 1, segmentEnd)) {
+                path.append("/{id}");
+            } else {
+                path.append(url, segmentStart, segmentEnd);
+            }
+            segmentStart = segmentEnd;
+        }
+        return path.length() > 0 ? path.toString() : "/";
+    }
+
+    private static boolean isNumeric(String value, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Series {
+        private final String operation;
+        private final String method;
+        private final String endpoint;
+        private final Recorder recorder = LatencyHistograms.recorder();
+        private final Histogram accumulated = LatencyHistograms.histogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+
+        private Series(String operation, String method, String endpoint) {
+            this.operation = operation;
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        private void record(int status, long latencyNanos, long sent, long received) {
+            recorder.recordValue(LatencyHistograms.toMicros(latencyNanos));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            requestBytes.add(sent);
+            responseBytes.add(received);
+        }
+
+        private synchronized SeriesSnapshot snapshot() {
+            accumulated.add(recorder.getIntervalHistogram());
+            Map<Integer, Long> statusCounts = new TreeMap<>();
+            for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+                statusCounts.put(entry.getKey(), entry.getValue().sum());
+            }
+            return new SeriesSnapshot(operation, method, endpoint, accumulated.copy(),
+                    Collections.unmodifiableMap(statusCounts), requestBytes.sum(), responseBytes.sum());
+        }
+    }
+
+    /**
+     * Estado de una serie en el momento de exportar. Latencias del histograma en microsegundos.
+     */
+    public static final class SeriesSnapshot {
+        private final String operation;
+        private final String method;
+        private final String endpoint;
+        private final Histogram histogram;
+        private final Map<Integer, Long> statuses;
+        private final long requestBytes;
+        private final long responseBytes;
+
+        SeriesSnapshot(String operation, String method, String endpoint, Histogram histogram,
+                       Map<Integer, Long> statuses, long requestBytes, long responseBytes) {
+            this.operation = operation;
+            this.method = method;
+            this.endpoint = endpoint;
+            this.histogram = histogram;
+            this.statuses = statuses;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+        }
+
+        public String operation() {
+            return operation;
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public String endpoint() {
+            return endpoint;
+        }
+
+        public Histogram histogram() {
+            return histogram;
+        }
+
+        public Map<Integer, Long> statuses() {
+            return statuses;
+        }
+
+        public long count() {
+            return histogram.getTotalCount();
+        }
+
+        // Errores: sin respuesta o status >= 400
+        public long errors() {
+            long errors = 0;
+            for (Map.Entry<Integer, Long> entry : statuses.entrySet()) {
+                if (entry.getKey() < 0 || entry.getKey() >= 400) {
+                    errors += entry.getValue();
+                }
+            }
+            return errors;
+        }
+
+        public long requestBytes() {
+            return requestBytes;
+        }
+
+        public long responseBytes() {
+            return responseBytes;
+        }
+
+        public double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double meanMillis() {
+            return histogram.getMean() / 1000.0;
+        }
+
+        public double maxMillis() {
+            return histogram.getMaxValue() / 1000.0;
+        }
+    }
+}
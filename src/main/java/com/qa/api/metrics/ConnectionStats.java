@@ -0,0 +1,114 @@
+package com.qa.api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de conexiones del transporte: requests, conexiones nuevas y reutilización.
+ *
+ * Ni Playwright ni java.net.http exponen eventos de socket, así que el transporte indica si cada request
+ * abrió (probablemente) una conexión nueva. El coste de conexión (TCP + TLS) se estima como la diferencia
+ * entre la mediana de las requests en frío y la de las requests sobre conexiones reutilizadas.
+ */
+public class ConnectionStats {
+
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder newConnections = new LongAdder();
+    private final Recorder cold = LatencyHistograms.recorder();
+    private final Recorder warm = LatencyHistograms.recorder();
+    private final Histogram coldAccumulated = LatencyHistograms.histogram();
+    private final Histogram warmAccumulated = LatencyHistograms.histogram();
+    private volatile String transport = "unknown";
+
+    public void transport(String description) {
+        this.transport = description;
+    }
+
+    public void record(boolean newConnection, long latencyNanos) {
+        long micros = LatencyHistograms.toMicros(latencyNanos);
+        requests.increment();
+        if (newConnection) {
+            newConnections.increment();
+            cold.recordValue(micros);
+        } else {
+            warm.recordValue(micros);
+        }
+    }
+
+    public synchronized Snapshot snapshot() {
+        coldAccumulated.add(cold.getIntervalHistogram());
+        warmAccumulated.add(warm.getIntervalHistogram());
+        return new Snapshot(transport, requests.sum(), newConnections.sum(),
+                percentileMillis(coldAccumulated), percentileMillis(warmAccumulated));
+    }
+
+    private static double percentileMillis(Histogram histogram) {
+        return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(50) / 1000.0 : 0;
+    }
+
+    /**
+     * Resumen de conexiones de una ejecución.
+     */
+    public static final class Snapshot {
+        private final String transport;
+        private final long requests;
+        private final long newConnections;
+        private final double coldMedianMillis;
+        private final double warmMedianMillis;
+
+        Snapshot(String transport, long requests, long newConnections, double coldMedianMillis,
+                 double warmMedianMillis) {
+            this.transport = transport;
+            this.requests = requests;
+            this.newConnections = newConnections;
+            this.coldMedianMillis = coldMedianMillis;
+            this.warmMedianMillis = warmMedianMillis;
+        }
+
+        public String transport() {
+            return transport;
+        }
+
+        public long requests() {
+            return requests;
+        }
+
+        public long newConnections() {
+            return newConnections;
+        }
+
+        // Fracción de requests que reutilizaron una conexión abierta
+        public double reuseRatio() {
+            return requests > 0 ? (requests - newConnections) / (double) requests : 0;
+        }
+
+        public double coldMedianMillis() {
+            return coldMedianMillis;
+        }
+
+        public double warmMedianMillis() {
+            return warmMedianMillis;
+        }
+
+        // Coste estimado de abrir una conexión; 0 si falta alguna de las dos muestras
+        public double estimatedConnectMillis() {
+            if (coldMedianMillis == 0 || warmMedianMillis == 0) {
+                return 0;
+            }
+            return Math.max(0, coldMedianMillis - warmMedianMillis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "connections (%s): %d new for %d requests, reuse %.1f%%, cold p50 %.1f ms, warm p50 %.1f ms, "
+                            + "estimated connect overhead %.1f ms",
+                    transport, newConnections, requests, reuseRatio() * 100, coldMedianMillis, warmMedianMillis,
+                    estimatedConnectMillis());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.qa.api.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración común de los histogramas de latencia del cliente, la carga y los SLA.
+ *
+ * Los valores se guardan en microsegundos, hasta 1 hora con 3 dígitos significativos. Los Recorder se
+ * escriben desde varios hilos; los Histogram acumulan sus intervalos y los lee un solo hilo.
+ */
+public final class LatencyHistograms {
+
+    public static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private LatencyHistograms() {
+    }
+
+    public static Recorder recorder() {
+        return new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    public static Histogram histogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    // Nanos a micros acotados al rango del histograma (recordValue falla con valores fuera de él)
+    public static long toMicros(long nanos) {
+        return Math.max(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS), 0);
+    }
+}
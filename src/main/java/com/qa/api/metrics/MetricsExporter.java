@@ -0,0 +1,197 @@
+package com.qa.api.metrics;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.qa.api.utils.JsonSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Exporta las métricas del cliente a target/metrics: metrics.json, metrics.csv y metrics.prom (formato
+ * de texto de Prometheus), para comparar latencias entre builds.
+ */
+public final class MetricsExporter {
+
+    public static final String JSON_FILE = "metrics.json";
+    public static final String CSV_FILE = "metrics.csv";
+    public static final String PROMETHEUS_FILE = "metrics.prom";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+
+    private MetricsExporter() {
+    }
+
+    public static List<Path> export(List<ClientMetrics.SeriesSnapshot> snapshots, Path directory) {
+        return export(snapshots, null, directory);
+    }
+
+    // Escribe los tres ficheros y devuelve sus rutas; connections puede ser null
+    public static List<Path> export(List<ClientMetrics.SeriesSnapshot> snapshots,
+                                    ConnectionStats.Snapshot connections, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            files.add(writeJson(snapshots, connections, directory.resolve(JSON_FILE)));
+            files.add(writeCsv(snapshots, directory.resolve(CSV_FILE)));
+            files.add(writePrometheus(snapshots, connections, directory.resolve(PROMETHEUS_FILE)));
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export client metrics to " + directory, e);
+        }
+    }
+
+    // Tabla resumen (cabecera + una fila por serie) para el reporte de Extent
+    public static String[][] summaryTable(List<ClientMetrics.SeriesSnapshot> snapshots) {
+        String[][] table = new String[snapshots.size() + 1][];
+        table[0] = new String[] {"Operation", "Endpoint", "Count", "Errors", "p50 ms", "p90 ms", "p99 ms",
+                "Max ms", "Sent B", "Received B"};
+        for (int i = 0; i < snapshots.size(); i++) {
+            ClientMetrics.SeriesSnapshot s = snapshots.get(i);
+            table[i + 1] = new String[] {s.operation(), s.method() + " " + s.endpoint(),
+                    String.valueOf(s.count()), String.valueOf(s.errors()), millis(s.percentileMillis(50)),
+                    millis(s.percentileMillis(90)), millis(s.percentileMillis(99)), millis(s.maxMillis()),
+                    String.valueOf(s.requestBytes()), String.valueOf(s.responseBytes())};
+        }
+        return table;
+    }
+
+    private static Path writeJson(List<ClientMetrics.SeriesSnapshot> snapshots, ConnectionStats.Snapshot connections,
+                                  Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             JsonGenerator json = JsonSupport.factory().createGenerator(writer)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeNumberField("timestamp", System.currentTimeMillis());
+            json.writeArrayFieldStart("series");
+            for (ClientMetrics.SeriesSnapshot s : snapshots) {
+                json.writeStartObject();
+                json.writeStringField("operation", s.operation());
+                json.writeStringField("method", s.method());
+                json.writeStringField("endpoint", s.endpoint());
+                json.writeNumberField("count", s.count());
+                json.writeNumberField("errors", s.errors());
+                json.writeObjectFieldStart("statuses");
+                for (Map.Entry<Integer, Long> entry : s.statuses().entrySet()) {
+                    json.writeNumberField(String.valueOf(entry.getKey()), entry.getValue());
+                }
+                json.writeEndObject();
+                json.writeNumberField("requestBytes", s.requestBytes());
+                json.writeNumberField("responseBytes", s.responseBytes());
+                json.writeObjectFieldStart("latencyMs");
+                json.writeNumberField("min", s.histogram().getMinValue() / 1000.0);
+                json.writeNumberField("mean", s.meanMillis());
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    json.writeNumberField(PERCENTILE_NAMES[i], s.percentileMillis(PERCENTILES[i]));
+                }
+                json.writeNumberField("max", s.maxMillis());
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            if (connections != null) {
+                json.writeObjectFieldStart("connections");
+                json.writeStringField("transport", connections.transport());
+                json.writeNumberField("requests", connections.requests());
+                json.writeNumberField("newConnections", connections.newConnections());
+                json.writeNumberField("reuseRatio", connections.reuseRatio());
+                json.writeNumberField("coldMedianMs", connections.coldMedianMillis());
+                json.writeNumberField("warmMedianMs", connections.warmMedianMillis());
+                json.writeNumberField("estimatedConnectMs", connections.estimatedConnectMillis());
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+        }
+        return file;
+    }
+
+    private static Path writeCsv(List<ClientMetrics.SeriesSnapshot> snapshots, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("operation,method,endpoint,count,errors,request_bytes,response_bytes,"
+                    + "min_ms,mean_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+            for (ClientMetrics.SeriesSnapshot s : snapshots) {
+                StringBuilder line = new StringBuilder();
+                line.append(s.operation()).append(',').append(s.method()).append(',').append(s.endpoint())
+                        .append(',').append(s.count()).append(',').append(s.errors())
+                        .append(',').append(s.requestBytes()).append(',').append(s.responseBytes())
+                        .append(',').append(millis(s.histogram().getMinValue() / 1000.0))
+                        .append(',').append(millis(s.meanMillis()));
+                for (double percentile : PERCENTILES) {
+                    line.append(',').append(millis(s.percentileMillis(percentile)));
+                }
+                line.append(',').append(millis(s.maxMillis())).append('\n');
+                writer.write(line.toString());
+            }
+        }
+        return file;
+    }
+
+    private static Path writePrometheus(List<ClientMetrics.SeriesSnapshot> snapshots,
+                                        ConnectionStats.Snapshot connections, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# HELP api_client_request_duration_seconds Request latency seen by PostCreateUser\n");
+            writer.write("# TYPE api_client_request_duration_seconds summary\n");
+            for (ClientMetrics.SeriesSnapshot s : snapshots) {
+                String labels = labels(s);
+                for (double percentile : PERCENTILES) {
+                    writer.write("api_client_request_duration_seconds{" + labels + ",quantile=\""
+                            + percentile / 100 + "\"} " + seconds(s.percentileMillis(percentile)) + "\n");
+                }
+                double sumSeconds = s.histogram().getMean() * s.count() / 1_000_000.0;
+                writer.write("api_client_request_duration_seconds_sum{" + labels + "} " + sumSeconds + "\n");
+                writer.write("api_client_request_duration_seconds_count{" + labels + "} " + s.count() + "\n");
+            }
+            writer.write("# HELP api_client_requests_total Requests by status (-1 = transport error)\n");
+            writer.write("# TYPE api_client_requests_total counter\n");
+            for (ClientMetrics.SeriesSnapshot s : snapshots) {
+                for (Map.Entry<Integer, Long> entry : s.statuses().entrySet()) {
+                    writer.write("api_client_requests_total{" + labels(s) + ",status=\"" + entry.getKey()
+                            + "\"} " + entry.getValue() + "\n");
+                }
+            }
+            writer.write("# TYPE api_client_request_bytes_total counter\n");
+            for (ClientMetrics.SeriesSnapshot s : snapshots) {
+                writer.write("api_client_request_bytes_total{" + labels(s) + "} " + s.requestBytes() + "\n");
+            }
+            writer.write("# TYPE api_client_response_bytes_total counter\n");
+            for (ClientMetrics.SeriesSnapshot s : snapshots) {
+                writer.write("api_client_response_bytes_total{" + labels(s) + "} " + s.responseBytes() + "\n");
+            }
+            if (connections != null) {
+                writer.write("# TYPE api_client_connections_total counter\n");
+                writer.write("api_client_connections_total " + connections.newConnections() + "\n");
+                writer.write("# TYPE api_client_connection_reuse_ratio gauge\n");
+                writer.write("api_client_connection_reuse_ratio " + connections.reuseRatio() + "\n");
+                writer.write("# TYPE api_client_connect_overhead_seconds gauge\n");
+                writer.write("api_client_connect_overhead_seconds "
+                        + seconds(connections.estimatedConnectMillis()) + "\n");
+            }
+        }
+        return file;
+    }
+
+    private static String labels(ClientMetrics.SeriesSnapshot s) {
+        return "operation=\"" + escape(s.operation()) + "\",method=\"" + escape(s.method())
+                + "\",endpoint=\"" + escape(s.endpoint()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String millis(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static double seconds(double millis) {
+        return millis / 1000.0;
+    }
+}
@@ -0,0 +1,487 @@
+package com.qa.api.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qa.api.model.ErrorMessage;
+import com.qa.api.model.FieldError;
+import com.qa.api.model.User;
+import com.qa.api.utils.ConfigReader;
+import com.qa.api.utils.Fnv1a;
+import com.qa.api.utils.JsonSupport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Servidor HTTP en proceso que imita el recurso /public/v2/users de GoRest.
+ *
+ * Implementa POST, GET (listado paginado y detalle), PUT/PATCH y DELETE, 401 sin token en operaciones de
+ * escritura, 404 para IDs inexistentes y 422 con la misma forma de errores que la API real (email, gender,
+ * status, campos vacíos y email duplicado). Los GET devuelven ETag y responden 304 a un If-None-Match que
+ * coincida. Los usuarios se guardan en memoria en mapas concurrentes; un índice de IDs (árbol de Fenwick)
+ * localiza el primer usuario de cada página en O(log n), así listar no recorre los usuarios anteriores.
+ *
+ * Se activa para la suite con api.mock=true, o se arranca aparte como objetivo de pruebas de carga:
+ * java -cp ... com.qa.api.mock.MockUsersServer [puerto]
+ */
+public class MockUsersServer implements AutoCloseable {
+
+    public static final String USERS_PATH = "/public/v2/users";
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int DEFAULT_PER_PAGE = 10;
+    private static final int MAX_PER_PAGE = 100;
+    private static final byte[] EMPTY = new byte[0];
+
+    private static MockUsersServer shared;
+
+    static {
+        // HttpServer escribe cabeceras y body por separado: con Nagle cada respuesta sobre una conexión
+        // keep-alive esperaba el ACK retardado (~40 ms). El JDK lee la propiedad al crear el primer servidor
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String authToken;
+    // Orden descendente por id: el listado devuelve primero los usuarios más recientes, como GoRest
+    private final ConcurrentNavigableMap<Long, User> users = new ConcurrentSkipListMap<Long, User>().descendingMap();
+    private final Map<String, Long> emailIndex = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger count = new AtomicInteger();
+    private final IdIndex index = new IdIndex();
+
+    public MockUsersServer(int port, String authToken) throws IOException {
+        this.authToken = authToken;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mock-users-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(USERS_PATH, this::handle);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        MockUsersServer server = new MockUsersServer(port, ConfigReader.getAuthToken());
+        System.out.println("Mock users API listening on " + server.usersUrl());
+    }
+
+    // Instancia compartida para la suite (api.mock=true); se detiene con stopShared()
+    public static synchronized MockUsersServer startShared() {
+        if (shared == null) {
+            try {
+                shared = new MockUsersServer(ConfigReader.getInt("api.mock.port", 0), ConfigReader.getAuthToken());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to start mock users server", e);
+            }
+            System.out.println("Mock users API listening on " + shared.usersUrl());
+        }
+        return shared;
+    }
+
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    public String usersUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + USERS_PATH;
+    }
+
+    public int userCount() {
+        return count.get();
+    }
+
+    // Borra todos los usuarios (por ejemplo entre ejecuciones de carga)
+    public void reset() {
+        users.clear();
+        emailIndex.clear();
+        index.clear();
+        count.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+            String path = exchange.getRequestURI().getPath();
+            String rest = path.length() > USERS_PATH.length() ? path.substring(USERS_PATH.length() + 1) : "";
+            if (rest.endsWith("/")) {
+                rest = rest.substring(0, rest.length() - 1);
+            }
+            boolean write = !"GET".equals(method) && !"HEAD".equals(method);
+            if (write && !authorized(exchange)) {
+                send(exchange, 401, new ErrorMessage("Authentication failed"));
+                return;
+            }
+            if (rest.isEmpty()) {
+                if ("GET".equals(method)) {
+                    list(exchange);
+                } else if ("POST".equals(method)) {
+                    create(exchange);
+                } else {
+                    send(exchange, 404, new ErrorMessage("Resource not found"));
+                }
+                return;
+            }
+            Long id = parseId(rest);
+            User user = id != null ? users.get(id) : null;
+            if (user == null) {
+                send(exchange, 404, new ErrorMessage("Resource not found"));
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    sendCacheable(exchange, user);
+                    break;
+                case "PUT":
+                case "PATCH":
+                    update(exchange, user);
+                    break;
+                case "DELETE":
+                    delete(user);
+                    send(exchange, 204, null);
+                    break;
+                default:
+                    send(exchange, 404, new ErrorMessage("Resource not found"));
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, new ErrorMessage("Internal error: " + e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || header.trim().isEmpty()) {
+            return false;
+        }
+        return authToken == null || authToken.equals(header.trim());
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI());
+        int perPage = clamp(parseInt(query.get("per_page"), DEFAULT_PER_PAGE), 1, MAX_PER_PAGE);
+        int page = Math.max(parseInt(query.get("page"), 1), 1);
+        int total = count.get();
+        int pages = (total + perPage - 1) / perPage;
+
+        List<User> pageUsers = new ArrayList<>(perPage);
+        long first = index.idAtDescendingOffset((long) (page - 1) * perPage);
+        if (first > 0) {
+            for (User user : users.tailMap(first, true).values()) {
+                if (pageUsers.size() >= perPage) {
+                    break;
+                }
+                pageUsers.add(user);
+            }
+        }
+        exchange.getResponseHeaders().set("X-Pagination-Total", String.valueOf(total));
+        exchange.getResponseHeaders().set("X-Pagination-Pages", String.valueOf(pages));
+        exchange.getResponseHeaders().set("X-Pagination-Page", String.valueOf(page));
+        exchange.getResponseHeaders().set("X-Pagination-Limit", String.valueOf(perPage));
+        sendCacheable(exchange, pageUsers);
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        List<FieldError> errors = new ArrayList<>();
+        String name = requiredText(body, "name", errors, "can't be blank");
+        String email = requiredText(body, "email", errors, "can't be blank");
+        String gender = requiredText(body, "gender", errors, "can't be blank, can be male of female");
+        String status = requiredText(body, "status", errors, "can't be blank");
+        validateValues(email, gender, status, errors);
+        if (!errors.isEmpty()) {
+            send(exchange, 422, errors);
+            return;
+        }
+        long id = nextId.getAndIncrement();
+        if (emailIndex.putIfAbsent(email.toLowerCase(Locale.ROOT), id) != null) {
+            send(exchange, 422, List.of(new FieldError("email", "has already been taken")));
+            return;
+        }
+        User user = new User(name, email, gender, status);
+        user.setId(id);
+        users.put(id, user);
+        index.add(id);
+        count.incrementAndGet();
+        exchange.getResponseHeaders().set("Location", usersUrl() + "/" + id);
+        send(exchange, 201, user);
+    }
+
+    private void update(HttpExchange exchange, User current) throws IOException {
+        JsonNode body = readBody(exchange);
+        List<FieldError> errors = new ArrayList<>();
+        String name = optionalText(body, "name", errors, "can't be blank");
+        String email = optionalText(body, "email", errors, "can't be blank");
+        String gender = optionalText(body, "gender", errors, "can't be blank, can be male of female");
+        String status = optionalText(body, "status", errors, "can't be blank");
+        validateValues(email, gender, status, errors);
+        if (!errors.isEmpty()) {
+            send(exchange, 422, errors);
+            return;
+        }
+        long id = current.getId();
+        String oldKey = current.getEmail().toLowerCase(Locale.ROOT);
+        String newKey = email != null ? email.toLowerCase(Locale.ROOT) : oldKey;
+        boolean emailChanged = !newKey.equals(oldKey);
+        if (emailChanged && emailIndex.putIfAbsent(newKey, id) != null) {
+            send(exchange, 422, List.of(new FieldError("email", "has already been taken")));
+            return;
+        }
+        // Se publica una copia nueva para que las lecturas concurrentes nunca vean un usuario a medias;
+        // computeIfPresent evita que un PUT que compite con un DELETE vuelva a insertar el usuario
+        User updated = users.computeIfPresent(id, (key, existing) -> {
+            User copy = new User(
+                    name != null ? name : existing.getName(),
+                    email != null ? email : existing.getEmail(),
+                    gender != null ? gender : existing.getGender(),
+                    status != null ? status : existing.getStatus());
+            copy.setId(id);
+            return copy;
+        });
+        if (updated == null) {
+            if (emailChanged) {
+                emailIndex.remove(newKey, id);
+            }
+            send(exchange, 404, new ErrorMessage("Resource not found"));
+            return;
+        }
+        if (emailChanged) {
+            emailIndex.remove(oldKey, id);
+        }
+        send(exchange, 200, updated);
+    }
+
+    private void delete(User user) {
+        // El email se libera con el usuario realmente borrado, que puede ser más reciente que user
+        User removed = users.remove(user.getId());
+        if (removed != null) {
+            index.remove(removed.getId());
+            count.decrementAndGet();
+            emailIndex.remove(removed.getEmail().toLowerCase(Locale.ROOT), removed.getId());
+        }
+    }
+
+    private static void validateValues(String email, String gender, String status, List<FieldError> errors) {
+        if (email != null && !EMAIL.matcher(email).matches()) {
+            errors.add(new FieldError("email", "is invalid"));
+        }
+        if (gender != null && !"male".equals(gender) && !"female".equals(gender)) {
+            errors.add(new FieldError("gender", "can't be blank, can be male of female"));
+        }
+        if (status != null && !"active".equals(status) && !"inactive".equals(status)) {
+            errors.add(new FieldError("status", "can't be blank"));
+        }
+    }
+
+    // Campo obligatorio: ausente, vacío o de otro tipo cuenta como error
+    private static String requiredText(JsonNode body, String field, List<FieldError> errors, String message) {
+        JsonNode node = body.get(field);
+        if (node == null || !node.isTextual() || node.asText().trim().isEmpty()) {
+            errors.add(new FieldError(field, message));
+            return null;
+        }
+        return node.asText();
+    }
+
+    // Campo opcional (PUT/PATCH): si viene, debe ser texto no vacío
+    private static String optionalText(JsonNode body, String field, List<FieldError> errors, String message) {
+        JsonNode node = body.get(field);
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (!node.isTextual() || node.asText().trim().isEmpty()) {
+            errors.add(new FieldError(field, message));
+            return null;
+        }
+        return node.asText();
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readAllBytes();
+        if (bytes.length == 0) {
+            return JsonSupport.mapper().createObjectNode();
+        }
+        try {
+            JsonNode node = JsonSupport.readTree(bytes);
+            return node != null && node.isObject() ? node : JsonSupport.mapper().createObjectNode();
+        } catch (IOException e) {
+            return JsonSupport.mapper().createObjectNode();
+        }
+    }
+
+    // Consume lo que quede del body de la request sin cerrarla (exchange.close() la cierra). Debe hacerse
+    // antes de responder: si el despachador del HttpServer ve la request sin terminar al acabar la
+    // respuesta, cierra la conexión sin avisar y el cliente falla al reutilizarla. Con las respuestas sin
+    // body (204, 304) esto ocurre dentro de sendResponseHeaders, antes de llegar al finally.
+    private static void drain(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        drain(exchange);
+        byte[] bytes = body != null ? JsonSupport.mapper().writeValueAsBytes(body) : EMPTY;
+        if (bytes.length > 0) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        }
+        exchange.sendResponseHeaders(status, bytes.length > 0 ? bytes.length : -1);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    // 200 con ETag (hash del body), o 304 sin body si coincide con If-None-Match
+    private static void sendCacheable(HttpExchange exchange, Object body) throws IOException {
+        drain(exchange);
+        byte[] bytes = JsonSupport.mapper().writeValueAsBytes(body);
+        String etag = etag(bytes);
+        exchange.getResponseHeaders().set("ETag", etag);
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Hash del body: basta para distinguir versiones del mismo recurso
+    static String etag(byte[] bytes) {
+        return "\"" + Long.toHexString(Fnv1a.hash(bytes)) + "\"";
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new ConcurrentHashMap<>();
+        String raw = uri.getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Árbol de Fenwick sobre los IDs presentes: alta, baja y búsqueda del k-ésimo ID en O(log n).
+     * El tamaño es potencia de dos y se duplica al crecer, lo que permite copiar el árbol sin reconstruirlo.
+     */
+    private static final class IdIndex {
+        private int[] tree = new int[1024 + 1];
+        private int size = 1024;
+        private int total;
+
+        synchronized void add(long id) {
+            update(checkedIndex(id), 1);
+        }
+
+        synchronized void remove(long id) {
+            update(checkedIndex(id), -1);
+        }
+
+        synchronized void clear() {
+            Arrays.fill(tree, 0);
+            total = 0;
+        }
+
+        // ID en la posición offset (desde 0) del orden descendente, o 0 si no hay tantos usuarios
+        synchronized long idAtDescendingOffset(long offset) {
+            if (offset >= total) {
+                return 0;
+            }
+            int rank = (int) (total - offset);
+            int position = 0;
+            for (int step = size; step > 0; step >>= 1) {
+                int next = position + step;
+                if (next <= size && tree[next] < rank) {
+                    position = next;
+                    rank -= tree[next];
+                }
+            }
+            return position + 1;
+        }
+
+        private void update(int index, int delta) {
+            while (index > size) {
+                // Al duplicar, el nuevo nodo raíz cubre todo el rango anterior y el resto empieza vacío
+                tree = Arrays.copyOf(tree, size * 2 + 1);
+                tree[size * 2] = tree[size];
+                size *= 2;
+            }
+            total += delta;
+            for (int i = index; i <= size; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private static int checkedIndex(long id) {
+            if (id < 1 || id > Integer.MAX_VALUE / 2) {
+                throw new IllegalArgumentException("User id out of range for the index: " + id);
+            }
+            return (int) id;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.qa.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Error simple (401, 404): la API devuelve {"message": ...}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ErrorMessage {
+
+    private String message;
+
+    public ErrorMessage() {
+    }
+
+    public ErrorMessage(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
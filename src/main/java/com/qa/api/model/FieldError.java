@@ -0,0 +1,42 @@
+package com.qa.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Error de validación (422): la API devuelve un array de {"field": ..., "message": ...}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FieldError {
+
+    private String field;
+    private String message;
+
+    public FieldError() {
+    }
+
+    public FieldError(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return field + " " + message;
+    }
+}
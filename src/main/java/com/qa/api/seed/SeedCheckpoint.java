@@ -0,0 +1,104 @@
+package com.qa.api.seed;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Progreso de una siembra, guardado en seed.checkpoint para poder reanudarla.
+ *
+ * completed es la primera posición de la fuente que aún no está terminada: todas las anteriores están
+ * creadas o ya existían. Se guardan también la fuente, el total y la semilla y el namespace del generador,
+ * para que una siembra reanudada genere exactamente los mismos usuarios. El fichero se escribe en uno
+ * temporal y se renombra, así un corte a mitad de escritura no deja un checkpoint corrupto.
+ */
+public class SeedCheckpoint {
+
+    private final String source;
+    private final long count;
+    private final long dataSeed;
+    private final String dataNamespace;
+    private final long completed;
+
+    public SeedCheckpoint(String source, long count, long dataSeed, String dataNamespace, long completed) {
+        this.source = source;
+        this.count = count;
+        this.dataSeed = dataSeed;
+        this.dataNamespace = dataNamespace;
+        this.completed = completed;
+    }
+
+    // null si no hay checkpoint (siembra nueva)
+    public static SeedCheckpoint load(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read seed checkpoint " + file, e);
+        }
+        try {
+            return new SeedCheckpoint(
+                    properties.getProperty("source"),
+                    Long.parseLong(properties.getProperty("count")),
+                    Long.parseLong(properties.getProperty("data.seed")),
+                    properties.getProperty("data.namespace"),
+                    Long.parseLong(properties.getProperty("completed")));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Corrupt seed checkpoint " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    public void save(Path file) {
+        Properties properties = new Properties();
+        properties.setProperty("source", source);
+        properties.setProperty("count", String.valueOf(count));
+        properties.setProperty("data.seed", String.valueOf(dataSeed));
+        properties.setProperty("data.namespace", dataNamespace);
+        properties.setProperty("completed", String.valueOf(completed));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "UserSeeder checkpoint");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write seed checkpoint " + file, e);
+        }
+    }
+
+    public SeedCheckpoint withCompleted(long completed) {
+        return new SeedCheckpoint(source, count, dataSeed, dataNamespace, completed);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long dataSeed() {
+        return dataSeed;
+    }
+
+    public String dataNamespace() {
+        return dataNamespace;
+    }
+
+    public long completed() {
+        return completed;
+    }
+
+    public boolean isComplete() {
+        return completed >= count;
+    }
+}
@@ -0,0 +1,172 @@
+package com.qa.api.seed;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fichero binario con los IDs de los usuarios sembrados, pensado para mapearse en memoria.
+ *
+ * Formato: cabecera de 16 bytes (magic "UIDS", versión, número de posiciones) y una posición de 8 bytes
+ * por usuario de la fuente, en el mismo orden. Cada posición guarda el ID creado, 0 si aún no se ha
+ * sembrado o EXISTING si el usuario ya existía (email repetido) y no se conoce su ID. Al tener posiciones
+ * fijas, los hilos escriben sin coordinarse y una siembra interrumpida sabe qué usuarios le faltan.
+ */
+public class UserIdFile implements AutoCloseable {
+
+    // Usuario que ya existía en el servidor (422 por email repetido)
+    public static final long EXISTING = -1;
+
+    private static final int MAGIC = 0x55494453;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final long slots;
+
+    private UserIdFile(Path file, FileChannel channel, MappedByteBuffer mapped, long slots) {
+        this.file = file;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.slots = slots;
+    }
+
+    // Abre para escritura, creándolo si no existe; un fichero existente debe tener el mismo número de posiciones
+    public static UserIdFile openForWrite(Path file, long slots) {
+        if (slots < 1 || HEADER_BYTES + slots * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid number of id slots: " + slots);
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            boolean exists = Files.exists(file) && Files.size(file) > 0;
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        HEADER_BYTES + slots * Long.BYTES);
+                if (exists) {
+                    checkHeader(mapped, file, slots);
+                } else {
+                    mapped.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, slots);
+                }
+                return new UserIdFile(file, channel, mapped, slots);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open id file " + file, e);
+        }
+    }
+
+    // Mapea un fichero existente en solo lectura (para los tests que muestrean IDs)
+    public static UserIdFile open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalStateException("Not an id file: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long slots = mapped.getLong(8);
+            checkHeader(mapped, file, slots);
+            if (channel.size() < HEADER_BYTES + slots * Long.BYTES) {
+                throw new IllegalStateException("Id file " + file + " is truncated");
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return new UserIdFile(file, null, mapped, slots);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open id file " + file, e);
+        }
+    }
+
+    public long slots() {
+        return slots;
+    }
+
+    public long get(long index) {
+        return mapped.getLong(offset(index));
+    }
+
+    // Escrituras absolutas: hilos distintos pueden escribir posiciones distintas a la vez
+    public void set(long index, long id) {
+        mapped.putLong(offset(index), id);
+    }
+
+    // Número de posiciones con un ID conocido
+    public long count() {
+        long count = 0;
+        for (long i = 0; i < slots; i++) {
+            if (get(i) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // ID aleatorio: posición al azar y, si está vacía, la siguiente ocupada
+    public long sample(Random random) {
+        long start = (long) (random.nextDouble() * slots);
+        for (long i = 0; i < slots; i++) {
+            long id = get((start + i) % slots);
+            if (id > 0) {
+                return id;
+            }
+        }
+        throw new IllegalStateException("Id file has no seeded users: " + file);
+    }
+
+    public List<Long> sample(int count, Random random) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(sample(random));
+        }
+        return ids;
+    }
+
+    // Vuelca a disco las posiciones escritas (antes de guardar el checkpoint)
+    public void force() {
+        mapped.force();
+    }
+
+    @Override
+    public void close() {
+        if (channel == null) {
+            return;
+        }
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close id file " + file, e);
+        }
+    }
+
+    private int offset(long index) {
+        if (index < 0 || index >= slots) {
+            throw new IndexOutOfBoundsException("Slot " + index + " outside 0.." + (slots - 1));
+        }
+        return (int) (HEADER_BYTES + index * Long.BYTES);
+    }
+
+    private static void checkHeader(ByteBuffer header, Path file, long expectedSlots) {
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not an id file (bad header): " + file);
+        }
+        if (header.getLong(8) != expectedSlots) {
+            throw new IllegalStateException("Id file " + file + " has " + header.getLong(8)
+                    + " slots, expected " + expectedSlots);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.qa.api.seed;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.model.User;
+import com.qa.api.test.AdaptiveRateLimiter;
+import com.qa.api.test.AsyncPostCreateUser;
+import com.qa.api.test.PostCreateUser;
+import com.qa.api.utils.AsyncLog;
+import com.qa.api.utils.ConfigReader;
+import com.qa.api.utils.JsonSupport;
+import com.qa.api.utils.TestDataGenerator;
+import com.qa.api.utils.UserPayloadWriter;
+import com.qa.api.utils.UserStreamParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Siembra masiva de usuarios para preparar tenants de pruebas de rendimiento.
+ *
+ * Los usuarios salen del generador (TestDataGenerator, reproducible por semilla y namespace) o de un
+ * fichero JSON (array o un objeto por línea) y se envían con hasta concurrency POST en vuelo. El ID de
+ * cada usuario creado se escribe en su posición de users.ids (ver UserIdFile) y cada checkpointEvery
+ * requests se guarda seed.checkpoint. Si la siembra se interrumpe, al relanzarla con el mismo directorio
+ * continúa desde el checkpoint y salta las posiciones ya escritas; un 422 por email repetido (usuario
+ * creado antes del corte pero no anotado) cuenta como ya existente.
+ *
+ * Uso: java -cp ... com.qa.api.seed.UserSeeder (parámetros en las propiedades seed.* de config.properties)
+ */
+public class UserSeeder {
+
+    public static final String IDS_FILE = "users.ids";
+    public static final String CHECKPOINT_FILE = "seed.checkpoint";
+    public static final String GENERATOR_SOURCE = "generator";
+
+    /**
+     * Envío de un POST /users; normalmente AsyncPostCreateUser::createFixtureUser.
+     */
+    @FunctionalInterface
+    public interface CreateCall {
+        CompletableFuture<APIResponse> create(byte[] payload);
+    }
+
+    private final CreateCall create;
+    private final Path directory;
+    private final int concurrency;
+    private final int checkpointEvery;
+
+    public UserSeeder(CreateCall create, Path directory, int concurrency, int checkpointEvery) {
+        if (concurrency < 1 || checkpointEvery < 1) {
+            throw new IllegalArgumentException("Concurrency and checkpoint interval must be at least 1: "
+                    + concurrency + ", " + checkpointEvery);
+        }
+        this.create = create;
+        this.directory = directory;
+        this.concurrency = concurrency;
+        this.checkpointEvery = checkpointEvery;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (ConfigReader.getBoolean("api.mock", false)) {
+            // El mock en proceso se detiene al terminar main: users.ids apuntaría a usuarios que ya no existen
+            throw new IllegalStateException("Seeding with api.mock=true would fill the in-process mock, which stops "
+                    + "when the seeder exits; start com.qa.api.mock.MockUsersServer separately and set api.base.url");
+        }
+        int concurrency = ConfigReader.getInt("seed.concurrency", ConfigReader.getPoolSize());
+        AdaptiveRateLimiter limiter = PostCreateUser.rateLimiter();
+        if (limiter.isEnabled()) {
+            // Contra GoRest es lo deseado; contra un servidor sin cuota, AUTO no llega a activarse
+            AsyncLog.summary("Seeding goes through the client rate limiter: ", limiter.mode() + ", up to "
+                    + limiter.maxRate() + " req/s (ratelimit.max.rate)");
+        }
+        try (AsyncPostCreateUser client = new AsyncPostCreateUser(new PostCreateUser(), concurrency, concurrency)) {
+            UserSeeder seeder = new UserSeeder(client::createFixtureUser,
+                    Paths.get(ConfigReader.getProperty("seed.dir", "target/seed")), concurrency,
+                    ConfigReader.getInt("seed.checkpoint.every", 1000));
+            Result result = seeder.seed(ConfigReader.getProperty("seed.source", GENERATOR_SOURCE),
+                    ConfigReader.getLong("seed.count", 100_000), TestDataGenerator.shared());
+            System.out.println("Seed " + result);
+        } finally {
+            PostCreateUser.cleanup();
+        }
+    }
+
+    // source: "generator" o la ruta de un fichero JSON de usuarios
+    public Result seed(String source, long count, TestDataGenerator data) throws InterruptedException {
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        SeedCheckpoint checkpoint = SeedCheckpoint.load(checkpointFile);
+        if (checkpoint == null) {
+            checkpoint = new SeedCheckpoint(source, count, data.seed(), data.namespace(), 0);
+        } else if (!checkpoint.source().equals(source) || checkpoint.count() != count) {
+            throw new IllegalStateException("Checkpoint in " + directory + " is for source " + checkpoint.source()
+                    + " with " + checkpoint.count() + " users; delete the directory to start a new seed");
+        }
+        long start = System.nanoTime();
+        try (UserIdFile ids = UserIdFile.openForWrite(directory.resolve(IDS_FILE), count);
+             Source users = openSource(checkpoint)) {
+            Run run = new Run(ids, checkpoint, checkpointFile);
+            run.execute(users);
+            return run.result(System.nanoTime() - start);
+        }
+    }
+
+    private Source openSource(SeedCheckpoint checkpoint) {
+        if (GENERATOR_SOURCE.equals(checkpoint.source())) {
+            TestDataGenerator generator = new TestDataGenerator(checkpoint.dataSeed(), checkpoint.dataNamespace());
+            return new Source(null) {
+                @Override
+                User at(long index) {
+                    return generator.userAt(index);
+                }
+            };
+        }
+        try {
+            MappingIterator<User> iterator = JsonSupport.mapper().readerFor(User.class)
+                    .readValues(Paths.get(checkpoint.source()).toFile());
+            return new Source(iterator) {
+                @Override
+                User at(long index) {
+                    return iterator.hasNext() ? iterator.next() : null;
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open seed source " + checkpoint.source(), e);
+        }
+    }
+
+    // Usuarios de la fuente en orden; at devuelve null cuando el fichero se termina
+    private abstract static class Source implements AutoCloseable {
+        private final MappingIterator<User> file;
+
+        private Source(MappingIterator<User> file) {
+            this.file = file;
+        }
+
+        abstract User at(long index);
+
+        @Override
+        public void close() {
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    // Estado de una ejecución: permisos de concurrencia, contadores y marca de posiciones terminadas
+    private final class Run {
+        private final UserIdFile ids;
+        private final Path checkpointFile;
+        private final Semaphore permits = new Semaphore(concurrency);
+        private final BitSet done = new BitSet();
+        private final LongAdder created = new LongAdder();
+        private final LongAdder existing = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+        private SeedCheckpoint checkpoint;
+        private long finishedSinceCheckpoint;
+        private long sourceSize;
+
+        private Run(UserIdFile ids, SeedCheckpoint checkpoint, Path checkpointFile) {
+            this.ids = ids;
+            this.checkpoint = checkpoint;
+            this.checkpointFile = checkpointFile;
+        }
+
+        private void execute(Source users) throws InterruptedException {
+            long count = checkpoint.count();
+            long index = 0;
+            // Con un fichero hay que leer (y descartar) los usuarios anteriores al checkpoint
+            for (; index < checkpoint.completed(); index++) {
+                if (users.at(index) == null) {
+                    break;
+                }
+            }
+            for (; index < count; index++) {
+                User user = users.at(index);
+                if (user == null) {
+                    break;
+                }
+                if (ids.get(index) != 0) {
+                    skipped.increment();
+                    finish(index);
+                    continue;
+                }
+                byte[] payload = UserPayloadWriter.write(user.getName(), user.getEmail(), user.getGender(),
+                        user.getStatus());
+                permits.acquire();
+                long slot = index;
+                CompletableFuture<APIResponse> future;
+                try {
+                    future = create.create(payload);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    fail(slot, e.toString());
+                    continue;
+                }
+                future.whenComplete((response, error) -> {
+                    try {
+                        handle(slot, response, error);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            sourceSize = index;
+            // Espera a que terminen todas las requests en vuelo
+            permits.acquire(concurrency);
+            permits.release(concurrency);
+            saveCheckpoint();
+        }
+
+        private void handle(long slot, APIResponse response, Throwable error) {
+            if (error != null) {
+                fail(slot, error.toString());
+                return;
+            }
+            try {
+                if (response.status() == 201) {
+                    ids.set(slot, Long.parseLong(UserStreamParser.readId(response.body())));
+                    created.increment();
+                    finish(slot);
+                } else if (response.status() == 422 && response.text().contains("has already been taken")) {
+                    ids.set(slot, UserIdFile.EXISTING);
+                    existing.increment();
+                    finish(slot);
+                } else {
+                    fail(slot, "status " + response.status() + ": "
+                            + new String(response.body(), StandardCharsets.UTF_8));
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(slot, e.toString());
+            }
+        }
+
+        // Los fallos no avanzan el checkpoint: se reintentan al reanudar
+        private void fail(long slot, String message) {
+            failed.increment();
+            firstError.compareAndSet(null, "user " + slot + ": " + message);
+        }
+
+        private synchronized void finish(long slot) {
+            done.set((int) slot);
+            long completed = checkpoint.completed();
+            while (done.get((int) completed)) {
+                completed++;
+            }
+            checkpoint = checkpoint.withCompleted(completed);
+            if (++finishedSinceCheckpoint >= checkpointEvery) {
+                saveCheckpoint();
+            }
+        }
+
+        // Los IDs se vuelcan antes que el checkpoint: nunca apunta a posiciones que no estén en disco
+        private synchronized void saveCheckpoint() {
+            ids.force();
+            checkpoint.save(checkpointFile);
+            finishedSinceCheckpoint = 0;
+        }
+
+        private Result result(long elapsedNanos) {
+            return new Result(created.sum(), existing.sum(), failed.sum(), skipped.sum(), checkpoint.completed(),
+                    sourceSize, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), firstError.get());
+        }
+    }
+
+    /**
+     * Resultado de una ejecución de la siembra.
+     */
+    public static final class Result {
+        private final long created;
+        private final long existing;
+        private final long failed;
+        private final long skipped;
+        private final long completed;
+        private final long sourceSize;
+        private final long elapsedMillis;
+        private final String firstError;
+
+        Result(long created, long existing, long failed, long skipped, long completed, long sourceSize,
+               long elapsedMillis, String firstError) {
+            this.created = created;
+            this.existing = existing;
+            this.failed = failed;
+            this.skipped = skipped;
+            this.completed = completed;
+            this.sourceSize = sourceSize;
+            this.elapsedMillis = elapsedMillis;
+            this.firstError = firstError;
+        }
+
+        public long created() {
+            return created;
+        }
+
+        public long existing() {
+            return existing;
+        }
+
+        public long failed() {
+            return failed;
+        }
+
+        // Posiciones ya sembradas en una ejecución anterior
+        public long skipped() {
+            return skipped;
+        }
+
+        // Usuarios terminados desde el principio de la fuente (el checkpoint final)
+        public long completed() {
+            return completed;
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String firstError() {
+            return firstError;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+            return "user seeding: " + created + " created, " + existing + " already existing, " + skipped
+                    + " skipped, " + failed + " failed; " + completed + " of " + sourceSize + " complete in "
+                    + elapsedMillis + " ms (" + Math.round(created / seconds) + " users/s)"
+                    + (firstError != null ? "; first error: " + firstError : "");
+        }
+    }
+}
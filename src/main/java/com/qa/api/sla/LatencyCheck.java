@@ -0,0 +1,177 @@
+package com.qa.api.sla;
+
+import com.qa.api.metrics.LatencyHistograms;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ejecuta una operación varias veces y comprueba presupuestos de latencia y throughput.
+ *
+ * <pre>
+ * LatencyCheck.of("getUsers").warmup(3).iterations(50).concurrency(4)
+ *         .percentile(95, 300).minThroughput(5)
+ *         .run(() -&gt; client.getUsers());
+ * </pre>
+ */
+public class LatencyCheck {
+
+
+    private final String name;
+    private int iterations = 20;
+    private int warmup = 3;
+    private int concurrency = 1;
+    private final List<double[]> percentileBudgets = new ArrayList<>();
+    private double minThroughput;
+    private double maxErrorRate;
+
+    private LatencyCheck(String name) {
+        this.name = name;
+    }
+
+    public static LatencyCheck of(String name) {
+        return new LatencyCheck(name);
+    }
+
+    // Configuración a partir de la anotación de un método de test
+    public static LatencyCheck of(String name, LatencySla sla) {
+        LatencyCheck check = of(name).iterations(sla.iterations()).warmup(sla.warmup())
+                .concurrency(sla.concurrency()).minThroughput(sla.minThroughput()).maxErrorRate(sla.maxErrorRate());
+        if (sla.maxMillis() > 0) {
+            check.percentile(sla.percentile(), sla.maxMillis());
+        }
+        return check;
+    }
+
+    public LatencyCheck iterations(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be at least 1: " + iterations);
+        }
+        this.iterations = iterations;
+        return this;
+    }
+
+    public LatencyCheck warmup(int warmup) {
+        this.warmup = Math.max(0, warmup);
+        return this;
+    }
+
+    public LatencyCheck concurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    // El percentil indicado no debe superar maxMillis; se pueden encadenar varios
+    public LatencyCheck percentile(double percentile, double maxMillis) {
+        percentileBudgets.add(new double[] {percentile, maxMillis});
+        return this;
+    }
+
+    public LatencyCheck minThroughput(double operationsPerSecond) {
+        this.minThroughput = operationsPerSecond;
+        return this;
+    }
+
+    public LatencyCheck maxErrorRate(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+        return this;
+    }
+
+    // Mide y falla con AssertionError si se incumple algún presupuesto
+    public LatencyResult run(Operation operation) {
+        LatencyResult result = measure(operation);
+        result.assertWithinBudget();
+        return result;
+    }
+
+    // Solo mide: los presupuestos quedan en el resultado para evaluarlos después
+    public LatencyResult measure(Operation operation) {
+        execute(operation, warmup, null, new AtomicInteger(), new AtomicReference<>());
+        Recorder recorder = LatencyHistograms.recorder();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        long start = System.nanoTime();
+        execute(operation, iterations, recorder, errors, firstError);
+        long elapsed = System.nanoTime() - start;
+        Histogram histogram = recorder.getIntervalHistogram();
+        return new LatencyResult(name, iterations, concurrency, histogram, errors.get(), firstError.get(), elapsed,
+                percentileBudgets, minThroughput, maxErrorRate);
+    }
+
+    // Comprueba que el percentil de later no supere el de baseline multiplicado por maxRatio
+    // (más toleranceMillis, para que el ruido en latencias muy bajas no haga fallar el test)
+    public static void assertNotSlower(LatencyResult baseline, LatencyResult later, double percentile,
+                                       double maxRatio, double toleranceMillis) {
+        double base = baseline.percentileMillis(percentile);
+        double current = later.percentileMillis(percentile);
+        if (current > base * maxRatio + toleranceMillis) {
+            throw new AssertionError(String.format(Locale.ROOT,
+                    "%s p%s %.1f ms is more than %.2fx %s p%s %.1f ms (+%.0f ms tolerance)",
+                    later.name(), LatencyResult.format(percentile), current, maxRatio, baseline.name(),
+                    LatencyResult.format(percentile), base, toleranceMillis));
+        }
+    }
+
+    private void execute(Operation operation, int count, Recorder recorder, AtomicInteger errors,
+                         AtomicReference<Throwable> firstError) {
+        if (count <= 0) {
+            return;
+        }
+        AtomicInteger remaining = new AtomicInteger(count);
+        Runnable worker = () -> {
+            while (remaining.getAndDecrement() > 0) {
+                long started = System.nanoTime();
+                try {
+                    operation.execute();
+                } catch (Throwable t) {
+                    errors.incrementAndGet();
+                    firstError.compareAndSet(null, t);
+                }
+                if (recorder != null) {
+                    recorder.recordValue(LatencyHistograms.toMicros(System.nanoTime() - started));
+                }
+            }
+        };
+        if (concurrency == 1) {
+            worker.run();
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, count));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < Math.min(concurrency, count); i++) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while measuring " + name, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Latency measurement failed for " + name, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Operación medida. Puede lanzar cualquier excepción; cuenta como error.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        void execute() throws Throwable;
+    }
+}
@@ -0,0 +1,114 @@
+package com.qa.api.sla;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resultado de un {@link LatencyCheck}: histograma (microsegundos), errores, throughput y presupuestos.
+ */
+public class LatencyResult {
+
+    private final String name;
+    private final int iterations;
+    private final int concurrency;
+    private final Histogram histogram;
+    private final int errors;
+    private final Throwable firstError;
+    private final long elapsedNanos;
+    private final List<double[]> percentileBudgets;
+    private final double minThroughput;
+    private final double maxErrorRate;
+
+    LatencyResult(String name, int iterations, int concurrency, Histogram histogram, int errors,
+                  Throwable firstError, long elapsedNanos, List<double[]> percentileBudgets,
+                  double minThroughput, double maxErrorRate) {
+        this.name = name;
+        this.iterations = iterations;
+        this.concurrency = concurrency;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.firstError = firstError;
+        this.elapsedNanos = elapsedNanos;
+        this.percentileBudgets = new ArrayList<>(percentileBudgets);
+        this.minThroughput = minThroughput;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    public int errors() {
+        return errors;
+    }
+
+    public Throwable firstError() {
+        return firstError;
+    }
+
+    public double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double throughput() {
+        return iterations / Math.max(elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1), 1e-9);
+    }
+
+    // Lista de presupuestos incumplidos; vacía si todo está dentro
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (double[] budget : percentileBudgets) {
+            double actual = percentileMillis(budget[0]);
+            if (actual > budget[1]) {
+                violations.add(String.format(Locale.ROOT, "p%s %.1f ms > %.0f ms",
+                        format(budget[0]), actual, budget[1]));
+            }
+        }
+        if (minThroughput > 0 && throughput() < minThroughput) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f/s < %.1f/s", throughput(), minThroughput));
+        }
+        double errorRate = errors / (double) iterations;
+        if (errorRate > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "errors %d/%d > %.1f%%", errors, iterations,
+                    maxErrorRate * 100));
+        }
+        return Collections.unmodifiableList(violations);
+    }
+
+    public boolean withinBudget() {
+        return violations().isEmpty();
+    }
+
+    public void assertWithinBudget() {
+        List<String> violations = violations();
+        if (!violations.isEmpty()) {
+            AssertionError error = new AssertionError("Latency SLA violated for " + name + ": "
+                    + String.join(", ", violations) + " [" + this + "]");
+            if (firstError != null) {
+                error.initCause(firstError);
+            }
+            throw error;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%s: %d iterations x%d, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms, %.1f ops/s, %d errors",
+                name, iterations, concurrency, percentileMillis(50), percentileMillis(95), percentileMillis(99),
+                histogram.getMaxValue() / 1000.0, throughput(), errors);
+    }
+
+    static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
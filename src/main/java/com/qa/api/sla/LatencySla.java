@@ -0,0 +1,36 @@
+package com.qa.api.sla;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Presupuesto de latencia para un método de test.
+ *
+ * TestListener ejecuta el método warmup veces sin medir y después iterations veces (con concurrency
+ * hilos), y falla el test si el percentil indicado supera maxMillis, si el throughput queda por debajo
+ * de minThroughput o si la tasa de errores supera maxErrorRate. Un valor 0 desactiva cada presupuesto.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LatencySla {
+
+    int iterations() default 20;
+
+    int warmup() default 3;
+
+    int concurrency() default 1;
+
+    double percentile() default 95;
+
+    long maxMillis() default 0;
+
+    // Operaciones por segundo
+    double minThroughput() default 0;
+
+    // Fracción de iteraciones que pueden fallar (0 = ninguna)
+    double maxErrorRate() default 0;
+}
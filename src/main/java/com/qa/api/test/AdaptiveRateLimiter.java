@@ -0,0 +1,200 @@
+package com.qa.api.test;
+
+import com.qa.api.utils.ConfigReader;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket compartido por todos los hilos que envían requests.
+ *
+ * Arranca con la tasa máxima configurada y se ajusta con las cabeceras de la respuesta: con
+ * X-RateLimit-Remaining y X-RateLimit-Reset la tasa pasa a ser lo que queda de cuota repartido en lo que
+ * queda de ventana; con Remaining = 0 o un 429 con Retry-After se bloquea hasta el reset; un 429 sin
+ * cabeceras reduce la tasa a la mitad. Cada respuesta correcta sin cabeceras la sube un 10% hasta el máximo.
+ *
+ * En modo AUTO (por defecto) no limita nada hasta que el servidor envía cabeceras X-RateLimit-* o responde
+ * 429: así el mock local, que nunca las envía, y las pruebas de carga contra servidores sin cuota miden el
+ * servidor y no la cola del cliente. ON limita desde la primera request y OFF nunca.
+ */
+public class AdaptiveRateLimiter {
+
+    public enum Mode { OFF, AUTO, ON }
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Mode mode;
+    private final double maxRate;
+    private final double minRate;
+    private final int burst;
+
+    // Con AUTO pasa a true en la primera respuesta con cabeceras de cuota o 429
+    private volatile boolean active;
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+
+    public AdaptiveRateLimiter(boolean enabled, double maxRate, double minRate, int burst) {
+        this(enabled ? Mode.ON : Mode.OFF, maxRate, minRate, burst);
+    }
+
+    public AdaptiveRateLimiter(Mode mode, double maxRate, double minRate, int burst) {
+        if (maxRate <= 0 || minRate <= 0 || minRate > maxRate || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate limiter settings: max=" + maxRate + ", min="
+                    + minRate + ", burst=" + burst);
+        }
+        this.mode = mode;
+        this.active = mode == Mode.ON;
+        this.maxRate = maxRate;
+        this.minRate = minRate;
+        this.burst = burst;
+        this.rate = maxRate;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+        this.blockedUntil = lastRefill;
+    }
+
+    // Configuración: ratelimit.enabled (auto, true o false), ratelimit.max.rate, ratelimit.min.rate
+    // (requests/s) y ratelimit.burst. Con api.mock=true, auto equivale a false
+    public static AdaptiveRateLimiter fromConfig() {
+        return new AdaptiveRateLimiter(configuredMode(),
+                ConfigReader.getDouble("ratelimit.max.rate", 100),
+                ConfigReader.getDouble("ratelimit.min.rate", 1),
+                ConfigReader.getInt("ratelimit.burst", 20));
+    }
+
+    public static Mode configuredMode() {
+        String value = ConfigReader.getProperty("ratelimit.enabled", "auto").trim().toLowerCase(Locale.ROOT);
+        switch (value) {
+            case "true":
+                return Mode.ON;
+            case "false":
+                return Mode.OFF;
+            case "auto":
+                return ConfigReader.getBoolean("api.mock", false) ? Mode.OFF : Mode.AUTO;
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown ratelimit.enabled: " + value + " (expected auto, true or false)");
+        }
+    }
+
+    // Espera hasta que haya un token disponible
+    public void acquire() {
+        if (!active) {
+            return;
+        }
+        long wait = reserve(System.nanoTime());
+        while (wait > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the rate limiter");
+            }
+            wait = remainingBlock(System.nanoTime());
+        }
+    }
+
+    // Ajusta la tasa con el status y las cabeceras (en minúsculas) de una respuesta
+    public synchronized void update(int status, Map<String, String> headers) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        long now = System.nanoTime();
+        Long remaining = parseLong(headers.get("x-ratelimit-remaining"));
+        Long reset = parseLong(headers.get("x-ratelimit-reset"));
+        long retryAfterMillis = retryAfterMillis(headers);
+        if (!active) {
+            if (remaining == null && reset == null && status != 429) {
+                return;
+            }
+            // El servidor tiene cuota: a partir de aquí se limita, empezando con el burst completo
+            active = true;
+            lastRefill = now;
+        }
+        if (remaining != null && reset != null) {
+            if (remaining <= 0) {
+                blockUntil(now + TimeUnit.SECONDS.toNanos(Math.max(reset, 1)));
+            } else {
+                rate = clamp(remaining / (double) Math.max(reset, 1));
+                tokens = Math.min(tokens, remaining);
+            }
+        } else if (status != 429 && status < 500) {
+            rate = clamp(rate * 1.1);
+        }
+        if (status == 429) {
+            if (retryAfterMillis > 0) {
+                blockUntil(now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+            }
+            if (remaining == null) {
+                rate = clamp(rate / 2);
+            }
+        }
+    }
+
+    public synchronized double rate() {
+        return rate;
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    // true si las requests ya pasan por el bucket (siempre con ON; con AUTO tras ver la cuota del servidor)
+    public boolean isActive() {
+        return active;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public double maxRate() {
+        return maxRate;
+    }
+
+    // Reserva un token y devuelve cuánto hay que esperar (en nanos) para usarlo
+    synchronized long reserve(long now) {
+        double elapsedSeconds = Math.max(0, now - lastRefill) / (double) NANOS_PER_SECOND;
+        tokens = Math.min(burst, tokens + elapsedSeconds * rate);
+        lastRefill = now;
+        // Los tokens pueden quedar en negativo: es la deuda que pagan las requests siguientes
+        tokens -= 1;
+        long wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / rate * NANOS_PER_SECOND);
+        return Math.max(wait, blockedUntil - now);
+    }
+
+    private synchronized long remainingBlock(long now) {
+        return blockedUntil - now;
+    }
+
+    private void blockUntil(long deadline) {
+        if (deadline - blockedUntil > 0) {
+            blockedUntil = deadline;
+        }
+        tokens = Math.min(tokens, 0);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minRate, Math.min(maxRate, value));
+    }
+
+    // Retry-After en segundos (la forma de fecha HTTP no la usa ninguno de nuestros servidores)
+    static long retryAfterMillis(Map<String, String> headers) {
+        Long seconds = parseLong(headers.get("retry-after"));
+        return seconds != null && seconds > 0 ? TimeUnit.SECONDS.toMillis(seconds) : 0;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
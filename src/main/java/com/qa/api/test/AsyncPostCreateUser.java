@@ -0,0 +1,160 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.utils.ConfigReader;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Variante asíncrona de PostCreateUser: cada operación devuelve un CompletableFuture.
+ *
+ * Las requests se ejecutan en un número fijo de hilos (por defecto, el tamaño del pool de contextos), que es
+ * lo que limita la concurrencia real. maxPending acota las llamadas aceptadas y sin terminar (en cola más en
+ * ejecución); al alcanzarlo, el método que envía la request espera a que termine alguna (backpressure) en
+ * lugar de acumular trabajo sin límite en la cola. Cancelar un future que aún está en la cola evita que su
+ * request llegue a enviarse y devuelve su hueco.
+ */
+public class AsyncPostCreateUser implements AutoCloseable {
+
+    private final PostCreateUser client;
+    private final ExecutorService executor;
+    private final Semaphore pending;
+    private final int maxPending;
+
+    public AsyncPostCreateUser() {
+        this(new PostCreateUser(), ConfigReader.getPoolSize(), ConfigReader.getMaxPending());
+    }
+
+    public AsyncPostCreateUser(PostCreateUser client, int threads, int maxPending) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Pending limit must be at least 1: " + maxPending);
+        }
+        this.client = client;
+        this.maxPending = maxPending;
+        this.pending = new Semaphore(maxPending);
+        this.executor = Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+    }
+
+    public CompletableFuture<APIResponse> postCreateUserApi() {
+        return submit(client::postCreateUserApi);
+    }
+
+    public CompletableFuture<APIResponse> createUserWithData(String name, String email, String gender, String status) {
+        return submit(() -> client.createUserWithData(name, email, gender, status));
+    }
+
+    public CompletableFuture<APIResponse> createFixtureUser(byte[] requestBody) {
+        return submit(() -> client.createFixtureUser(requestBody));
+    }
+
+    public CompletableFuture<APIResponse> getUsers() {
+        return submit(client::getUsers);
+    }
+
+    public CompletableFuture<APIResponse> getUsersWithPagination(int page, int perPage) {
+        return submit(() -> client.getUsersWithPagination(page, perPage));
+    }
+
+    public CompletableFuture<APIResponse> getUserDetails(String userId) {
+        return submit(() -> client.getUserDetails(userId));
+    }
+
+    public CompletableFuture<APIResponse> updateUser(String userId, String name, String email) {
+        return submit(() -> client.updateUser(userId, name, email));
+    }
+
+    public CompletableFuture<APIResponse> deleteUser(String userId) {
+        return submit(() -> client.deleteUser(userId));
+    }
+
+    public CompletableFuture<APIResponse> createUserWithoutAuth(String name, String email, String gender,
+                                                                String status) {
+        return submit(() -> client.createUserWithoutAuth(name, email, gender, status));
+    }
+
+    // Listado completo de usuarios con hasta window páginas en vuelo (ver ParallelPageFetcher)
+    public ParallelPageFetcher allUsers(int perPage, int window) {
+        return new ParallelPageFetcher(this, perPage, window);
+    }
+
+    // Requests aceptadas que aún no han terminado (en cola o en ejecución)
+    public int pending() {
+        return maxPending - pending.availablePermits();
+    }
+
+    public int maxPending() {
+        return maxPending;
+    }
+
+    public PostCreateUser client() {
+        return client;
+    }
+
+    // Espera a que terminen las requests en vuelo y detiene los hilos
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(ConfigReader.getTimeout(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    CompletableFuture<APIResponse> submit(Call call) {
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CompletableFuture<APIResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        CompletableFuture<APIResponse> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.execute();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            throw e;
+        }
+        future.whenComplete((response, error) -> pending.release());
+        return future;
+    }
+
+    @FunctionalInterface
+    interface Call {
+        APIResponse execute() throws IOException;
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+        private final int poolNumber = POOL_NUMBER.incrementAndGet();
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable,
+                    "api-async-" + poolNumber + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
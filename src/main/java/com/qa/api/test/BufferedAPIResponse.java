@@ -0,0 +1,93 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copia en memoria de un APIResponse.
+ *
+ * Los APIResponse de Playwright leen el body a través del contexto que los creó, así que
+ * no pueden usarse después de devolver ese contexto al pool. Esta clase captura status,
+ * headers y body mientras el contexto sigue prestado.
+ */
+public class BufferedAPIResponse implements APIResponse {
+
+    private final int status;
+    private final String statusText;
+    private final String url;
+    private final Map<String, String> headers;
+    private final List<HttpHeader> headersArray;
+    private final byte[] body;
+
+    public BufferedAPIResponse(int status, String statusText, String url,
+                               List<HttpHeader> headersArray, byte[] body) {
+        this.status = status;
+        this.statusText = statusText;
+        this.url = url;
+        this.headersArray = Collections.unmodifiableList(new ArrayList<>(headersArray));
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (HttpHeader header : headersArray) {
+            merged.merge(header.name.toLowerCase(), header.value, (a, b) -> a + ", " + b);
+        }
+        this.headers = Collections.unmodifiableMap(merged);
+        this.body = body != null ? body : new byte[0];
+    }
+
+    // Lee por completo una respuesta de Playwright mientras su contexto sigue activo
+    public static BufferedAPIResponse of(APIResponse response) {
+        return new BufferedAPIResponse(response.status(), response.statusText(), response.url(),
+                response.headersArray(), response.body());
+    }
+
+    @Override
+    public byte[] body() {
+        return body;
+    }
+
+    @Override
+    public void dispose() {
+        // Nada que liberar: el contenido ya está en memoria
+    }
+
+    @Override
+    public Map<String, String> headers() {
+        return headers;
+    }
+
+    @Override
+    public List<HttpHeader> headersArray() {
+        return headersArray;
+    }
+
+    @Override
+    public boolean ok() {
+        return status >= 200 && status <= 299;
+    }
+
+    @Override
+    public int status() {
+        return status;
+    }
+
+    @Override
+    public String statusText() {
+        return statusText;
+    }
+
+    @Override
+    public String text() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String url() {
+        return url;
+    }
+}
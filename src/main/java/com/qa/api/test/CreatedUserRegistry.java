@@ -0,0 +1,200 @@
+package com.qa.api.test;
+
+import com.qa.api.utils.AsyncLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Registro de los usuarios creados durante la ejecución.
+ *
+ * PostCreateUser registra cada ID devuelto con 201 y lo quita al borrarlo. Al final de la suite (o
+ * periódicamente en ejecuciones de soak) {@link #cleanup} borra los que quedan en lotes, en paralelo con
+ * concurrencia acotada. El registro no reintenta: cada usuario se borra con una sola llamada a la función
+ * de borrado, que ya reintenta por su cuenta (PostCreateUser usa RetryPolicy ante 429, 5xx o errores de red).
+ */
+public class CreatedUserRegistry {
+
+    private final Map<String, Long> createdAt = new ConcurrentHashMap<>();
+    private final int concurrency;
+    private final int batchSize;
+
+    public CreatedUserRegistry(int concurrency, int batchSize) {
+        if (concurrency < 1 || batchSize < 1) {
+            throw new IllegalArgumentException(
+                    "Cleanup concurrency and batch size must be at least 1: " + concurrency + ", " + batchSize);
+        }
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+    }
+
+    public void register(String userId) {
+        if (userId != null) {
+            createdAt.put(userId, System.nanoTime());
+        }
+    }
+
+    public void deregister(String userId) {
+        if (userId != null) {
+            createdAt.remove(userId);
+        }
+    }
+
+    public int size() {
+        return createdAt.size();
+    }
+
+    public List<String> ids() {
+        return new ArrayList<>(createdAt.keySet());
+    }
+
+    // Borra todos los usuarios registrados
+    public Result cleanup(ToIntFunction<String> delete) {
+        return cleanup(delete, 0);
+    }
+
+    // Borra los usuarios registrados hace más de minAgeMillis; delete devuelve el status HTTP del DELETE
+    public Result cleanup(ToIntFunction<String> delete, long minAgeMillis) {
+        long start = System.nanoTime();
+        long cutoff = start - TimeUnit.MILLISECONDS.toNanos(minAgeMillis);
+        List<String> pending = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : createdAt.entrySet()) {
+            if (minAgeMillis <= 0 || entry.getValue() - cutoff <= 0) {
+                pending.add(entry.getKey());
+            }
+        }
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger alreadyGone = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        if (!pending.isEmpty()) {
+            ExecutorService executor = Executors.newFixedThreadPool(
+                    Math.min(concurrency, pending.size()), runnable -> {
+                        Thread thread = new Thread(runnable, "user-cleanup");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            try {
+                for (int from = 0; from < pending.size(); from += batchSize) {
+                    List<String> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                    List<Future<?>> futures = new ArrayList<>(batch.size());
+                    for (String userId : batch) {
+                        futures.add(executor.submit(() -> {
+                            int status = deleteOnce(delete, userId);
+                            if (status == 204) {
+                                deleted.incrementAndGet();
+                                deregister(userId);
+                            } else if (status == 404) {
+                                alreadyGone.incrementAndGet();
+                                deregister(userId);
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        }));
+                    }
+                    awaitAll(futures);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Result(pending.size(), deleted.get(), alreadyGone.get(), failed.get(), elapsedMillis);
+    }
+
+    // Barrido periódico en un hilo daemon; devuelve el scheduler para poder pararlo
+    public ScheduledExecutorService schedule(ToIntFunction<String> delete, long intervalMillis, long minAgeMillis) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-cleanup-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                Result result = cleanup(delete, minAgeMillis);
+                if (result.attempted() > 0) {
+                    AsyncLog.summary("Periodic ", result);
+                }
+            } catch (RuntimeException e) {
+                AsyncLog.summary("Periodic user cleanup failed: ", e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return scheduler;
+    }
+
+    // Una excepción de la función de borrado (reintentos agotados) cuenta como fallo
+    private static int deleteOnce(ToIntFunction<String> delete, String userId) {
+        try {
+            return delete.applyAsInt(userId);
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("User cleanup task failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Resumen de una limpieza.
+     */
+    public static final class Result {
+        private final int attempted;
+        private final int deleted;
+        private final int alreadyGone;
+        private final int failed;
+        private final long elapsedMillis;
+
+        Result(int attempted, int deleted, int alreadyGone, int failed, long elapsedMillis) {
+            this.attempted = attempted;
+            this.deleted = deleted;
+            this.alreadyGone = alreadyGone;
+            this.failed = failed;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int attempted() {
+            return attempted;
+        }
+
+        public int deleted() {
+            return deleted;
+        }
+
+        public int alreadyGone() {
+            return alreadyGone;
+        }
+
+        public int failed() {
+            return failed;
+        }
+
+        public long elapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "user cleanup: " + deleted + " deleted, " + alreadyGone + " already gone, " + failed
+                    + " failed of " + attempted + " in " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.utils.ConfigReader;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Motor HTTP sobre el que PostCreateUser envía sus requests.
+ *
+ * Hay dos implementaciones, elegidas con api.transport: playwright (APIRequestContext, por defecto) y
+ * jdk (java.net.http.HttpClient, sin proceso de Playwright). Ambas devuelven la respuesta ya leída como
+ * BufferedAPIResponse, así que los tests siguen trabajando con APIResponse sea cual sea el motor.
+ */
+public interface HttpTransport extends AutoCloseable {
+
+    // Una única request; lanza TransportException si no llega respuesta (timeout, conexión cortada)
+    APIResponse send(String method, String url, Map<String, String> headers, byte[] body);
+
+    // Prepara las conexiones o contextos antes de la suite
+    void warmUp();
+
+    // Nombre y ajustes, para logs y métricas de conexión
+    String description();
+
+    @Override
+    void close();
+
+    // api.transport: playwright o jdk
+    static HttpTransport fromConfig(TransportSettings settings) {
+        return create(ConfigReader.getProperty("api.transport", "playwright"), settings);
+    }
+
+    static HttpTransport create(String engine, TransportSettings settings) {
+        switch (engine.trim().toLowerCase(Locale.ROOT)) {
+            case "playwright":
+                return new PlaywrightTransport(settings);
+            case "jdk":
+                return new JdkHttpTransport(settings);
+            default:
+                throw new IllegalArgumentException("Unknown api.transport: " + engine + " (expected playwright or jdk)");
+        }
+    }
+}
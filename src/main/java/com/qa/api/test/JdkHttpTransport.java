@@ -0,0 +1,189 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+import com.qa.api.metrics.ClientMetrics;
+import com.qa.api.metrics.ConnectionStats;
+import com.qa.api.utils.AsyncLog;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transporte sobre java.net.http.HttpClient: sin proceso de Playwright, arranca en milisegundos.
+ *
+ * Como el pool de Playwright, admite como mucho api.pool.size requests a la vez. El tamaño del pool de
+ * conexiones y el keep-alive se pasan al cliente con las propiedades jdk.httpclient.connectionPoolSize y
+ * jdk.httpclient.keepalive.timeout (si no se han fijado ya), que el JDK lee al crear el primer cliente.
+ * HttpClient no informa de las conexiones que abre, así que se estiman: con HTTP/1.1 hay una conexión
+ * por request simultánea (se abre una nueva cada vez que se supera el máximo de requests en vuelo, y se
+ * dan por cerradas tras el keep-alive sin actividad); con HTTP/2 hay una sola conexión por host.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    private final TransportSettings settings;
+    private final ConnectionStats connections;
+    private final HttpClient client;
+    private final Semaphore permits;
+    private final boolean closeConnections;
+    private final Set<String> http2Hosts = new HashSet<>();
+    private int inFlight;
+    private int openConnections;
+    private long lastActivity = System.nanoTime();
+
+    public JdkHttpTransport(TransportSettings settings) {
+        this(settings, ClientMetrics.global().connections());
+    }
+
+    JdkHttpTransport(TransportSettings settings, ConnectionStats connections) {
+        this.settings = settings;
+        this.connections = connections;
+        setDefault("jdk.httpclient.connectionPoolSize", String.valueOf(settings.poolSize()));
+        setDefault("jdk.httpclient.keepalive.timeout", String.valueOf(settings.keepAliveTimeoutSeconds()));
+        if (!settings.keepAlive()) {
+            // Connection es una cabecera restringida en HttpClient
+            setDefault("jdk.httpclient.allowRestrictedHeaders", "connection");
+        }
+        this.closeConnections = !settings.keepAlive() && connectionHeaderAllowed();
+        if (!settings.keepAlive() && !closeConnections) {
+            AsyncLog.summary("api.keepalive=false ignored: this JDK does not allow the Connection header "
+                    + "(set -Djdk.httpclient.allowRestrictedHeaders=connection at startup)", null);
+        }
+        this.client = HttpClient.newBuilder()
+                .version(settings.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(settings.timeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.permits = new Semaphore(settings.poolSize(), true);
+    }
+
+    @Override
+    public APIResponse send(String method, String url, Map<String, String> headers, byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(settings.timeoutMillis()))
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(body) : HttpRequest.BodyPublishers.noBody());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        if (closeConnections) {
+            builder.header("Connection", "close");
+        }
+        HttpRequest request = builder.build();
+        acquire();
+        boolean newConnection = begin();
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.version() == HttpClient.Version.HTTP_2) {
+                newConnection = firstHttp2Request(request.uri());
+            }
+            connections.record(newConnection, System.nanoTime() - started);
+            return toResponse(response);
+        } catch (IOException e) {
+            throw new TransportException(method + " " + url + " failed: " + e, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransportException(method + " " + url + " interrupted", e);
+        } finally {
+            end();
+            permits.release();
+        }
+    }
+
+    // HttpClient abre las conexiones bajo demanda: no hay nada que preparar
+    @Override
+    public void warmUp() {
+    }
+
+    @Override
+    public String description() {
+        return "jdk, " + settings + (closeConnections ? ", Connection: close" : "");
+    }
+
+    // HttpClient no tiene close() en Java 11; sus hilos terminan cuando el cliente deja de usarse
+    @Override
+    public void close() {
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(settings.leaseTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No connection available after " + settings.leaseTimeoutMillis()
+                        + " ms (pool size " + settings.poolSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    // Estimación HTTP/1.1: true si esta request necesita una conexión más de las que ya hay abiertas
+    private synchronized boolean begin() {
+        long now = System.nanoTime();
+        if (inFlight == 0 && now - lastActivity > TimeUnit.SECONDS.toNanos(settings.keepAliveTimeoutSeconds())) {
+            openConnections = 0;
+        }
+        inFlight++;
+        lastActivity = now;
+        if (closeConnections || inFlight > openConnections) {
+            openConnections = Math.max(openConnections, inFlight);
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void end() {
+        inFlight--;
+        lastActivity = System.nanoTime();
+    }
+
+    private synchronized boolean firstHttp2Request(URI uri) {
+        return http2Hosts.add(uri.getScheme() + "://" + uri.getAuthority());
+    }
+
+    private static BufferedAPIResponse toResponse(HttpResponse<byte[]> response) {
+        List<HttpHeader> headers = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : response.headers().map().entrySet()) {
+            // Pseudo-cabeceras de HTTP/2 (:status)
+            if (entry.getKey().startsWith(":")) {
+                continue;
+            }
+            for (String value : entry.getValue()) {
+                HttpHeader header = new HttpHeader();
+                header.name = entry.getKey();
+                header.value = value;
+                headers.add(header);
+            }
+        }
+        return new BufferedAPIResponse(response.statusCode(), "", response.uri().toString(), headers,
+                response.body());
+    }
+
+    // La propiedad solo existe desde Java 12 y el JDK la lee una vez por proceso
+    private static boolean connectionHeaderAllowed() {
+        try {
+            HttpRequest.newBuilder().header("Connection", "close");
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
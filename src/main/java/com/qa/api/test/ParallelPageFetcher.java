@@ -0,0 +1,206 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.model.User;
+import com.qa.api.utils.JsonSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Recorre todas las páginas de GET /users pidiendo varias a la vez.
+ *
+ * La primera página se pide sola para leer X-Pagination-Pages; después se mantienen hasta window
+ * páginas en vuelo y los usuarios se devuelven en el orden de la API. Cerrar el iterador (o el stream)
+ * cancela las requests de las páginas pendientes: las que aún esperan en la cola de AsyncPostCreateUser no
+ * llegan a enviarse, y las que ya están en curso terminan pero su resultado se descarta. Si la API no envía
+ * las cabeceras de paginación, se sigue pidiendo página a página hasta recibir una incompleta (con menos
+ * de perPage usuarios).
+ */
+public class ParallelPageFetcher {
+
+    private final PageSource source;
+    private final int perPage;
+    private final int window;
+
+    public ParallelPageFetcher(PageSource source, int perPage, int window) {
+        if (perPage < 1 || window < 1) {
+            throw new IllegalArgumentException("Page size and window must be at least 1: " + perPage + ", " + window);
+        }
+        this.source = source;
+        this.perPage = perPage;
+        this.window = window;
+    }
+
+    public ParallelPageFetcher(AsyncPostCreateUser client, int perPage, int window) {
+        this(client::getUsersWithPagination, perPage, window);
+    }
+
+    public PageIterator iterator() {
+        return new PageIterator();
+    }
+
+    // Stream ordenado de usuarios; debe cerrarse (try-with-resources) si se abandona antes del final
+    public Stream<User> stream() {
+        PageIterator iterator = iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(iterator::close);
+    }
+
+    /**
+     * Origen de las páginas: normalmente AsyncPostCreateUser::getUsersWithPagination.
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        CompletableFuture<APIResponse> fetch(int page, int perPage);
+    }
+
+    /**
+     * Iterador sobre todos los usuarios. No es thread-safe: lo consume un único hilo.
+     */
+    public final class PageIterator implements Iterator<User>, AutoCloseable {
+
+        private final Deque<CompletableFuture<List<User>>> pending = new ArrayDeque<>();
+        // Futures devueltos por el origen, en el mismo orden que pending, para cancelar las requests
+        private final Deque<CompletableFuture<APIResponse>> requests = new ArrayDeque<>();
+        private Iterator<User> current = Collections.emptyIterator();
+        private int nextPageToRequest = 1;
+        // -1 mientras no se conozca el total (sin cabeceras de paginación)
+        private int totalPages = -1;
+        private long totalCount = -1;
+        private int pagesRead;
+        private boolean exhausted;
+        private boolean closed;
+
+        private PageIterator() {
+            APIResponse first = join(source.fetch(nextPageToRequest++, perPage));
+            totalPages = parseInt(first.headers().get("x-pagination-pages"));
+            totalCount = parseInt(first.headers().get("x-pagination-total"));
+            accept(readPage(first, 1));
+            fill();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (closed || pending.isEmpty()) {
+                    return false;
+                }
+                requests.poll();
+                List<User> page = join(pending.poll());
+                accept(page);
+                fill();
+            }
+            return true;
+        }
+
+        @Override
+        public User next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        // Total de páginas según la cabecera X-Pagination-Pages (-1 si no se envió)
+        public int totalPages() {
+            return totalPages;
+        }
+
+        // Total de usuarios según la cabecera X-Pagination-Total (-1 si no se envió)
+        public long totalCount() {
+            return totalCount;
+        }
+
+        public int pagesRead() {
+            return pagesRead;
+        }
+
+        // Cancela las requests de las páginas que aún no se han leído; las que no han empezado no se envían
+        @Override
+        public void close() {
+            closed = true;
+            for (CompletableFuture<APIResponse> request : requests) {
+                request.cancel(false);
+            }
+            for (CompletableFuture<List<User>> future : pending) {
+                future.cancel(false);
+            }
+            requests.clear();
+            pending.clear();
+            current = Collections.emptyIterator();
+        }
+
+        private void accept(List<User> page) {
+            pagesRead++;
+            current = page.iterator();
+            // Sin cabeceras, una página incompleta marca el final
+            if (totalPages < 0 && page.size() < perPage) {
+                exhausted = true;
+            }
+        }
+
+        private void fill() {
+            while (!closed && pending.size() < window && hasMorePages()) {
+                int page = nextPageToRequest++;
+                CompletableFuture<APIResponse> request = source.fetch(page, perPage);
+                requests.add(request);
+                pending.add(request.thenApply(response -> readPage(response, page)));
+            }
+        }
+
+        private boolean hasMorePages() {
+            if (totalPages >= 0) {
+                return nextPageToRequest <= totalPages;
+            }
+            // Sin total conocido se pide de una en una para no lanzar páginas vacías
+            return !exhausted && pending.isEmpty();
+        }
+
+        private List<User> readPage(APIResponse response, int page) {
+            if (response.status() != 200) {
+                throw new IllegalStateException("Page " + page + " returned status " + response.status());
+            }
+            try {
+                return JsonSupport.readUsers(response.body());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to parse page " + page, e);
+            }
+        }
+
+        private <T> T join(CompletableFuture<T> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static int parseInt(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.RequestOptions;
+import com.qa.api.metrics.ClientMetrics;
+
+import java.util.Map;
+
+/**
+ * Transporte sobre el pool de APIRequestContext de Playwright.
+ *
+ * Los procesos de Playwright se arrancan al pedir el primer contexto (o en warmUp), no al crear el
+ * transporte. APIRequestContext solo habla HTTP/1.1, así que api.http2 no tiene efecto aquí.
+ */
+public class PlaywrightTransport implements HttpTransport {
+
+    private final TransportSettings settings;
+    private final RequestContextPool pool;
+
+    public PlaywrightTransport(TransportSettings settings) {
+        this.settings = settings;
+        this.pool = new RequestContextPool(settings.poolSize(), settings.timeoutMillis(), settings.leaseTimeoutMillis());
+    }
+
+    // La primera request de cada contexto (o todas, sin keep-alive) abre una conexión nueva
+    @Override
+    public APIResponse send(String method, String url, Map<String, String> headers, byte[] body) {
+        RequestOptions options = RequestOptions.create().setMethod(method);
+        if (body != null) {
+            options.setData(body);
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            options.setHeader(header.getKey(), header.getValue());
+        }
+        if (!settings.keepAlive()) {
+            options.setHeader("Connection", "close");
+        }
+        try (RequestContextPool.Lease lease = pool.lease()) {
+            try {
+                boolean newConnection = lease.markUsed() || !settings.keepAlive();
+                long started = System.nanoTime();
+                APIResponse response = lease.context().fetch(url, options);
+                ClientMetrics.global().connections().record(newConnection, System.nanoTime() - started);
+                try {
+                    return BufferedAPIResponse.of(response);
+                } finally {
+                    response.dispose();
+                }
+            } catch (RuntimeException e) {
+                lease.invalidate();
+                if (e instanceof PlaywrightException) {
+                    throw new TransportException(method + " " + url + " failed: " + e.getMessage(), e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        pool.warmUp();
+    }
+
+    @Override
+    public String description() {
+        return "playwright, " + settings + (settings.http2() ? " (HTTP/1.1 only)" : "");
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
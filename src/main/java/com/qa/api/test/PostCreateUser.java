@@ -1,102 +1,141 @@
 package com.qa.api.test;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.microsoft.playwright.APIRequestContext;
 import com.microsoft.playwright.APIResponse;
-import com.microsoft.playwright.Playwright;
-import com.microsoft.playwright.options.RequestOptions;
+import com.qa.api.metrics.ClientMetrics;
+import com.qa.api.metrics.ConnectionStats;
+import com.qa.api.metrics.MetricsExporter;
+import com.qa.api.mock.MockUsersServer;
+import com.qa.api.model.ErrorMessage;
+import com.qa.api.model.FieldError;
+import com.qa.api.model.User;
+import com.qa.api.utils.AsyncLog;
 import com.qa.api.utils.ConfigReader;
+import com.qa.api.utils.JsonSupport;
+import com.qa.api.utils.TestDataGenerator;
+import com.qa.api.utils.UserPayloadWriter;
+import com.qa.api.utils.UserStreamParser;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.Step;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
-import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class PostCreateUser {
 
-    private static Playwright playwright;
-    private static APIRequestContext requestContext;
-    private final String BASE_URL;
-    private final String AUTH_TOKEN;
+    // Motor HTTP compartido según api.transport (Playwright por defecto, o java.net.http)
+    private static final HttpTransport TRANSPORT = HttpTransport.fromConfig(TransportSettings.fromConfig());
 
-    // Singleton pattern para Playwright
     static {
-        playwright = Playwright.create();
+        ClientMetrics.global().connections().transport(TRANSPORT.description());
     }
 
+    // Grabación/reproducción de respuestas según api.replay.mode (off por defecto)
+    private static final ReplayStore REPLAY = ReplayStore.fromConfig();
+
+    // Caché de respuestas GET con revalidación por ETag/Last-Modified (cache.*, desactivada por defecto)
+    private static final ResponseCache CACHE = ResponseCache.fromConfig();
+
+    // Limitador compartido y política de reintentos (ratelimit.*, retry.*)
+    private static final AdaptiveRateLimiter LIMITER = AdaptiveRateLimiter.fromConfig();
+    private static final RetryPolicy RETRY = RetryPolicy.fromConfig();
+
+    // Métricas por request (metrics.*); se exportan en cleanup()
+    private static final boolean METRICS_ENABLED = ConfigReader.getBoolean("metrics.enabled", true);
+    private static final boolean ALLURE_TIMING = ConfigReader.getBoolean("metrics.allure.attach", true);
+
+    // Usuarios creados y aún no borrados; se limpian al final de la suite (cleanup.*)
+    private static final CreatedUserRegistry REGISTRY = new CreatedUserRegistry(
+            ConfigReader.getInt("cleanup.concurrency", ConfigReader.getPoolSize()),
+            ConfigReader.getInt("cleanup.batch.size", 50));
+    private static final ScheduledExecutorService CLEANUP_SCHEDULER = schedulePeriodicCleanup();
+
+    // Ficheros escritos por el último exportMetrics(), para enlazarlos desde el reporte de Extent
+    private static volatile List<Path> exportedMetrics = Collections.emptyList();
+
+    private final String BASE_URL;
+    private final String AUTH_TOKEN;
+
     public PostCreateUser() {
-        this.BASE_URL = ConfigReader.getBaseUrl();
+        this.BASE_URL = resolveBaseUrl();
         this.AUTH_TOKEN = ConfigReader.getAuthToken();
-        if (requestContext == null) {
-            requestContext = playwright.request().newContext();
-        }
     }
 
     // Método para crear un nuevo usuario
     @Step("Crear nuevo usuario con datos aleatorios")
     public APIResponse postCreateUserApi() throws IOException {
-        // Generar datos aleatorios para el usuario
-        String randomName = "User" + UUID.randomUUID().toString().substring(0, 5);
-        String randomEmail = "user" + UUID.randomUUID().toString().substring(0, 5) + "@example.com";
-        String[] genders = { "male", "female" };
-        String randomGender = genders[new Random().nextInt(genders.length)];
-        String status = "active";
+        // Generar datos únicos para el usuario (ver TestDataGenerator)
+        User user = TestDataGenerator.shared().nextUser();
 
         // Crear el cuerpo de la solicitud POST para crear el nuevo usuario
-        String requestBody = "{\n" +
-                "    \"name\": \"" + randomName + "\",\n" +
-                "    \"email\": \"" + randomEmail + "\",\n" +
-                "    \"gender\": \"" + randomGender + "\",\n" +
-                "    \"status\": \"" + status + "\"\n" +
-                "}";
+        byte[] requestBody = UserPayloadWriter.write(
+                user.getName(), user.getEmail(), user.getGender(), user.getStatus());
 
-        System.out.println("Creating user with data: " + requestBody);
+        AsyncLog.body("Creating user with data: ", requestBody);
 
         // Enviar la solicitud POST
-        APIResponse createResponse = requestContext.post(BASE_URL,
-                RequestOptions.create()
-                        .setData(requestBody)
-                        .setHeader("Content-Type", "application/json")
-                        .setHeader("Authorization", AUTH_TOKEN));
+        APIResponse createResponse = send("create", "POST", BASE_URL, requestBody, true);
 
-        System.out.println("Response Status: " + createResponse.status());
-        System.out.println("Response Body: " + createResponse.text());
+        AsyncLog.info("Response Status: ", createResponse.status());
+        AsyncLog.body("Response Body: ", createResponse.body());
 
+        trackCreated(createResponse);
         return createResponse;
     }
 
     // Método para crear usuario con datos específicos
     @Step("Crear usuario con datos específicos: {name}, {email}, {gender}, {status}")
     public APIResponse createUserWithData(String name, String email, String gender, String status) throws IOException {
-        String requestBody = "{\n" +
-                "    \"name\": \"" + name + "\",\n" +
-                "    \"email\": \"" + email + "\",\n" +
-                "    \"gender\": \"" + gender + "\",\n" +
-                "    \"status\": \"" + status + "\"\n" +
-                "}";
-
-        System.out.println("Creating user with specific data: " + requestBody);
-
-        APIResponse createResponse = requestContext.post(BASE_URL,
-                RequestOptions.create()
-                        .setData(requestBody)
-                        .setHeader("Content-Type", "application/json")
-                        .setHeader("Authorization", AUTH_TOKEN));
-
-        System.out.println("Response Status: " + createResponse.status());
+        byte[] requestBody = UserPayloadWriter.write(name, email, gender, status);
+
+        AsyncLog.body("Creating user with specific data: ", requestBody);
+
+        APIResponse createResponse = send("create", "POST", BASE_URL, requestBody, true);
+
+        AsyncLog.info("Response Status: ", createResponse.status());
+        trackCreated(createResponse);
         return createResponse;
     }
 
+    // Método para crear usuario con un payload arbitrario (campos ausentes, null o de otro tipo)
+    @Step("Crear usuario con payload: {payload}")
+    public APIResponse createUserWithPayload(Map<String, Object> payload) throws IOException {
+        byte[] requestBody = JsonSupport.mapper().writeValueAsBytes(payload);
+
+        AsyncLog.body("Creating user with payload: ", requestBody);
+
+        APIResponse createResponse = send("create", "POST", BASE_URL, requestBody, true);
+
+        AsyncLog.info("Response Status: ", createResponse.status());
+        trackCreated(createResponse);
+        return createResponse;
+    }
+
+    // Método para crear un usuario de fixture (UserSeeder): sin logging y sin registrarlo para la limpieza final
+    public APIResponse createFixtureUser(byte[] requestBody) {
+        return send("seed", "POST", BASE_URL, requestBody, true);
+    }
+
     // Método para obtener todos los usuarios
     @Step("Obtener lista de todos los usuarios")
     public APIResponse getUsers() throws IOException {
-        System.out.println("Fetching all users from: " + BASE_URL);
+        AsyncLog.info("Fetching all users from: ", BASE_URL);
 
-        APIResponse getUsersResponse = requestContext.get(BASE_URL,
-                RequestOptions.create().setHeader("Authorization", AUTH_TOKEN));
+        APIResponse getUsersResponse = send("list", "GET", BASE_URL, null, true);
 
-        System.out.println("Response Status: " + getUsersResponse.status());
+        AsyncLog.info("Response Status: ", getUsersResponse.status());
         return getUsersResponse;
     }
 
@@ -104,12 +143,11 @@ public class PostCreateUser {
     @Step("Obtener usuarios con paginación - Página: {page}, Por página: {perPage}")
     public APIResponse getUsersWithPagination(int page, int perPage) throws IOException {
         String url = BASE_URL + "?page=" + page + "&per_page=" + perPage;
-        System.out.println("Fetching users with pagination from: " + url);
+        AsyncLog.info("Fetching users with pagination from: ", url);
 
-        APIResponse response = requestContext.get(url,
-                RequestOptions.create().setHeader("Authorization", AUTH_TOKEN));
+        APIResponse response = send("list_page", "GET", url, null, true);
 
-        System.out.println("Response Status: " + response.status());
+        AsyncLog.info("Response Status: ", response.status());
         return response;
     }
 
@@ -117,34 +155,26 @@ public class PostCreateUser {
     @Step("Obtener detalles del usuario con ID: {userId}")
     public APIResponse getUserDetails(String userId) throws IOException {
         String url = BASE_URL + "/" + userId;
-        System.out.println("Fetching user details from: " + url);
+        AsyncLog.info("Fetching user details from: ", url);
 
-        APIResponse userDetailsResponse = requestContext.get(url,
-                RequestOptions.create().setHeader("Authorization", AUTH_TOKEN));
+        APIResponse userDetailsResponse = send("get", "GET", url, null, true);
 
-        System.out.println("Response Status: " + userDetailsResponse.status());
+        AsyncLog.info("Response Status: ", userDetailsResponse.status());
         return userDetailsResponse;
     }
 
     // Método para actualizar un usuario
     @Step("Actualizar usuario con ID: {userId}")
     public APIResponse updateUser(String userId, String name, String email) throws IOException {
-        String requestBody = "{\n" +
-                "    \"name\": \"" + name + "\",\n" +
-                "    \"email\": \"" + email + "\"\n" +
-                "}";
+        byte[] requestBody = UserPayloadWriter.write(name, email, null, null);
 
         String url = BASE_URL + "/" + userId;
-        System.out.println("Updating user at: " + url);
-        System.out.println("Update data: " + requestBody);
+        AsyncLog.info("Updating user at: ", url);
+        AsyncLog.body("Update data: ", requestBody);
 
-        APIResponse updateResponse = requestContext.put(url,
-                RequestOptions.create()
-                        .setData(requestBody)
-                        .setHeader("Content-Type", "application/json")
-                        .setHeader("Authorization", AUTH_TOKEN));
+        APIResponse updateResponse = send("update", "PUT", url, requestBody, true);
 
-        System.out.println("Response Status: " + updateResponse.status());
+        AsyncLog.info("Response Status: ", updateResponse.status());
         return updateResponse;
     }
 
@@ -152,12 +182,14 @@ public class PostCreateUser {
     @Step("Eliminar usuario con ID: {userId}")
     public APIResponse deleteUser(String userId) throws IOException {
         String url = BASE_URL + "/" + userId;
-        System.out.println("Deleting user at: " + url);
+        AsyncLog.info("Deleting user at: ", url);
 
-        APIResponse deleteResponse = requestContext.delete(url,
-                RequestOptions.create().setHeader("Authorization", AUTH_TOKEN));
+        APIResponse deleteResponse = send("delete", "DELETE", url, null, true);
 
-        System.out.println("Response Status: " + deleteResponse.status());
+        AsyncLog.info("Response Status: ", deleteResponse.status());
+        if (deleteResponse.status() == 204 || deleteResponse.status() == 404) {
+            REGISTRY.deregister(userId);
+        }
         return deleteResponse;
     }
 
@@ -165,38 +197,246 @@ public class PostCreateUser {
     @Step("Crear usuario sin autenticación")
     public APIResponse createUserWithoutAuth(String name, String email, String gender, String status)
             throws IOException {
-        String requestBody = "{\n" +
-                "    \"name\": \"" + name + "\",\n" +
-                "    \"email\": \"" + email + "\",\n" +
-                "    \"gender\": \"" + gender + "\",\n" +
-                "    \"status\": \"" + status + "\"\n" +
-                "}";
-
-        APIResponse createResponse = requestContext.post(BASE_URL,
-                RequestOptions.create()
-                        .setData(requestBody)
-                        .setHeader("Content-Type", "application/json"));
-
-        System.out.println("Response Status (No Auth): " + createResponse.status());
+        byte[] requestBody = UserPayloadWriter.write(name, email, gender, status);
+
+        APIResponse createResponse = send("create_no_auth", "POST", BASE_URL, requestBody, false);
+
+        AsyncLog.info("Response Status (No Auth): ", createResponse.status());
         return createResponse;
     }
 
-    // Método para extraer el ID del usuario de la respuesta
+    // Métodos para leer la respuesta como modelos tipados
+    public User readUser(APIResponse response) throws IOException {
+        return JsonSupport.readUser(response.body());
+    }
+
+    public List<User> readUsers(APIResponse response) throws IOException {
+        return JsonSupport.readUsers(response.body());
+    }
+
+    public List<FieldError> readFieldErrors(APIResponse response) throws IOException {
+        return JsonSupport.readFieldErrors(response.body());
+    }
+
+    public ErrorMessage readErrorMessage(APIResponse response) throws IOException {
+        return JsonSupport.readErrorMessage(response.body());
+    }
+
+    // Método para extraer el ID del usuario de la respuesta (lectura en streaming, sin árbol JSON)
     public String extractUserId(APIResponse response) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        JsonNode jsonResponse = objectMapper.readTree(response.body());
-        return jsonResponse.get("id").asText();
+        return UserStreamParser.readId(response.body());
+    }
+
+    // Registra el ID de un usuario recién creado para la limpieza final
+    private void trackCreated(APIResponse createResponse) throws IOException {
+        if (createResponse.status() == 201) {
+            REGISTRY.register(UserStreamParser.readId(createResponse.body()));
+        }
+    }
+
+    // DELETE sin logging, usado por la limpieza masiva; los reintentos son los de send (retry.*)
+    private int deleteQuietly(String userId) {
+        return send("cleanup_delete", "DELETE", BASE_URL + "/" + userId, null, true).status();
+    }
+
+    // Envía la request respetando el rate limiter y reintentando según RetryPolicy.
+    // En modo replay se sirve desde el almacén grabado y en modo record se graba la respuesta final.
+    // Con cache.enabled los GET pasan por la caché y las escrituras invalidan el recurso y los listados
+    private APIResponse send(String operation, String method, String url, byte[] body, boolean authenticated) {
+        if (REPLAY.isReplaying()) {
+            return REPLAY.replay(method, url, body, authenticated);
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (body != null) {
+            headers.put("Content-Type", "application/json");
+        }
+        if (authenticated) {
+            headers.put("Authorization", AUTH_TOKEN);
+        }
+        // Grabando no se cachea: una respuesta 304 grabada no podría reproducirse sin la entrada
+        if (!CACHE.isEnabled() || REPLAY.isRecording()) {
+            return exchange(operation, method, url, headers, body, authenticated);
+        }
+        if ("GET".equals(method) && authenticated) {
+            return CACHE.get(url, headers,
+                    conditional -> exchange(operation, method, url, conditional, body, authenticated));
+        }
+        try {
+            return exchange(operation, method, url, headers, body, authenticated);
+        } finally {
+            CACHE.invalidate(url, BASE_URL);
+        }
+    }
+
+    private APIResponse exchange(String operation, String method, String url, Map<String, String> headers,
+                                 byte[] body, boolean authenticated) {
+        for (int attempt = 1; ; attempt++) {
+            LIMITER.acquire();
+            APIResponse buffered;
+            long started = System.nanoTime();
+            try {
+                buffered = TRANSPORT.send(method, url, headers, body);
+            } catch (TransportException e) {
+                recordMetrics(operation, method, url, -1, System.nanoTime() - started, body, null);
+                if (!RETRY.shouldRetry(method, -1, attempt)) {
+                    throw e;
+                }
+                AsyncLog.info("Retrying " + method + " " + url + " after error: ", e.getMessage());
+                RETRY.sleep(attempt, 0);
+                continue;
+            }
+            recordMetrics(operation, method, url, buffered.status(), System.nanoTime() - started, body, buffered);
+            LIMITER.update(buffered.status(), buffered.headers());
+            if (RETRY.shouldRetry(method, buffered.status(), attempt)) {
+                AsyncLog.info("Retrying " + method + " " + url + " after status: ", buffered.status());
+                RETRY.sleep(attempt, AdaptiveRateLimiter.retryAfterMillis(buffered.headers()));
+                continue;
+            }
+            REPLAY.record(method, url, body, authenticated, buffered);
+            return buffered;
+        }
+    }
+
+    // Latencia, bytes y status de un intento, más un adjunto con el desglose en el step de Allure activo
+    private static void recordMetrics(String operation, String method, String url, int status, long elapsedNanos,
+                                      byte[] body, APIResponse response) {
+        if (!METRICS_ENABLED) {
+            return;
+        }
+        long sent = body != null ? body.length : 0;
+        long received = response != null ? response.body().length : 0;
+        ClientMetrics.global().record(operation, method, url, status, elapsedNanos, sent, received);
+        if (ALLURE_TIMING && Allure.getLifecycle().getCurrentTestCaseOrStep().isPresent()) {
+            Allure.addAttachment("HTTP timing", "text/plain", String.format(Locale.ROOT,
+                    "%s %s -> %d in %.3f ms (%d B sent, %d B received)",
+                    method, url, status, elapsedNanos / 1_000_000.0, sent, received));
+        }
+    }
+
+    // Con api.mock=true las requests van al servidor en proceso en lugar de a GoRest
+    static String resolveBaseUrl() {
+        if (ConfigReader.getBoolean("api.mock", false)) {
+            return MockUsersServer.startShared().usersUrl();
+        }
+        return ConfigReader.getBaseUrl();
+    }
+
+    public static ResponseCache responseCache() {
+        return CACHE;
+    }
+
+    public static AdaptiveRateLimiter rateLimiter() {
+        return LIMITER;
+    }
+
+    public static CreatedUserRegistry registry() {
+        return REGISTRY;
+    }
+
+    // Borra en paralelo los usuarios creados que siguen registrados
+    public static CreatedUserRegistry.Result cleanupCreatedUsers() {
+        CreatedUserRegistry.Result result = REGISTRY.cleanup(new PostCreateUser()::deleteQuietly);
+        AsyncLog.summary("Suite ", result);
+        return result;
+    }
+
+    // Escribe metrics.json, metrics.csv y metrics.prom en metrics.dir y los adjunta a Allure
+    public static List<Path> exportMetrics() {
+        Path directory = Paths.get(ConfigReader.getProperty("metrics.dir", "target/metrics"));
+        ConnectionStats.Snapshot connections = ClientMetrics.global().connections().snapshot();
+        List<Path> files = MetricsExporter.export(ClientMetrics.global().snapshot(), connections, directory);
+        if (ALLURE_TIMING) {
+            attachToAllure(files);
+        }
+        exportedMetrics = files;
+        AsyncLog.summary("Client ", connections);
+        AsyncLog.summary("Client metrics exported to ", directory.toAbsolutePath());
+        return files;
+    }
+
+    public static List<Path> exportedMetrics() {
+        return exportedMetrics;
+    }
+
+    // Fuera de un test (fin de la suite) no hay caso de Allure activo: se crea uno propio para los adjuntos
+    private static void attachToAllure(List<Path> files) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = null;
+        if (!lifecycle.getCurrentTestCaseOrStep().isPresent()) {
+            uuid = UUID.randomUUID().toString();
+            lifecycle.scheduleTestCase(new TestResult()
+                    .setUuid(uuid)
+                    .setName("API Client Metrics")
+                    .setFullName(PostCreateUser.class.getName() + ".exportMetrics")
+                    .setStatus(Status.PASSED));
+            lifecycle.startTestCase(uuid);
+        }
+        try {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String extension = name.substring(name.lastIndexOf('.'));
+                lifecycle.addAttachment(name, contentType(extension), extension, Files.readAllBytes(file));
+            }
+        } catch (IOException e) {
+            AsyncLog.summary("Failed to attach client metrics to Allure: ", e.getMessage());
+        } finally {
+            if (uuid != null) {
+                lifecycle.stopTestCase(uuid);
+                lifecycle.writeTestCase(uuid);
+            }
+        }
+    }
+
+    private static String contentType(String extension) {
+        switch (extension) {
+            case ".json":
+                return "application/json";
+            case ".csv":
+                return "text/csv";
+            default:
+                return "text/plain";
+        }
+    }
+
+    // Con cleanup.interval.seconds > 0 se borran periódicamente los usuarios con más de cleanup.min.age.seconds
+    private static ScheduledExecutorService schedulePeriodicCleanup() {
+        long intervalSeconds = ConfigReader.getLong("cleanup.interval.seconds", 0);
+        if (intervalSeconds <= 0 || REPLAY.isReplaying()) {
+            return null;
+        }
+        long minAgeSeconds = ConfigReader.getLong("cleanup.min.age.seconds", 300);
+        return REGISTRY.schedule(userId -> new PostCreateUser().deleteQuietly(userId),
+                TimeUnit.SECONDS.toMillis(intervalSeconds), TimeUnit.SECONDS.toMillis(minAgeSeconds));
+    }
+
+    // Método para preparar el transporte (contextos del pool de Playwright) antes de ejecutar la suite
+    public static void warmUp() {
+        if (!REPLAY.isReplaying()) {
+            TRANSPORT.warmUp();
+        }
     }
 
     // Método para cerrar recursos
     public static void cleanup() {
-        if (requestContext != null) {
-            requestContext.dispose();
-            requestContext = null;
+        if (CLEANUP_SCHEDULER != null) {
+            CLEANUP_SCHEDULER.shutdownNow();
+        }
+        if (ConfigReader.getBoolean("cleanup.enabled", true) && !REPLAY.isReplaying() && REGISTRY.size() > 0) {
+            try {
+                cleanupCreatedUsers();
+            } catch (RuntimeException e) {
+                AsyncLog.summary("User cleanup failed: ", e.getMessage());
+            }
+        }
+        TRANSPORT.close();
+        REPLAY.close();
+        if (CACHE.isEnabled()) {
+            AsyncLog.summary("Client ", CACHE.stats());
         }
-        if (playwright != null) {
-            playwright.close();
-            playwright = null;
+        if (METRICS_ENABLED) {
+            exportMetrics();
         }
+        MockUsersServer.stopShared();
+        AsyncLog.flush();
     }
 }
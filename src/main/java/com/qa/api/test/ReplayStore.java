@@ -0,0 +1,288 @@
+package com.qa.api.test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+import com.qa.api.utils.ConfigReader;
+import com.qa.api.utils.Fnv1a;
+import com.qa.api.utils.JsonSupport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Almacén de grabación y reproducción de respuestas HTTP.
+ *
+ * En modo RECORD cada par request/response que pasa por PostCreateUser se añade a responses.dat y se
+ * indexa en responses.idx (hash de la clave, offset y longitud). En modo REPLAY el fichero de datos se
+ * mapea en memoria y las respuestas se sirven desde ahí sin tocar la red.
+ *
+ * La clave es método + path y query ordenada + body JSON con las claves ordenadas, de modo que el host
+ * y el orden de los campos no afectan. Si la misma clave se grabó varias veces (por ejemplo un GET antes
+ * y después de un DELETE) se reproducen en el mismo orden; agotadas, se repite la última.
+ */
+public class ReplayStore implements AutoCloseable {
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    static final String DATA_FILE = "responses.dat";
+    static final String INDEX_FILE = "responses.idx";
+
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final ObjectWriter CANONICAL_WRITER = JsonSupport.mapper()
+            .writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final Mode mode;
+    private final Path directory;
+
+    // RECORD
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+
+    // REPLAY
+    private MappedByteBuffer mapped;
+    private Map<Long, List<long[]>> index;
+    private final Map<String, AtomicInteger> replayCursor = new ConcurrentHashMap<>();
+
+    public ReplayStore(Mode mode, Path directory) {
+        this.mode = mode;
+        this.directory = directory;
+        try {
+            if (mode == Mode.RECORD) {
+                openForRecord();
+            } else if (mode == Mode.REPLAY) {
+                openForReplay();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open replay store in " + directory, e);
+        }
+    }
+
+    // Modo y directorio desde api.replay.mode (off/record/replay) y api.replay.dir
+    public static ReplayStore fromConfig() {
+        Mode mode = Mode.valueOf(ConfigReader.getProperty("api.replay.mode", "off").toUpperCase(Locale.ROOT));
+        Path directory = Paths.get(ConfigReader.getProperty("api.replay.dir", "target/replay"));
+        return new ReplayStore(mode, directory);
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public boolean isRecording() {
+        return mode == Mode.RECORD;
+    }
+
+    public boolean isReplaying() {
+        return mode == Mode.REPLAY;
+    }
+
+    // Añade una respuesta al fichero de datos y su entrada al índice
+    public synchronized void record(String method, String url, byte[] requestBody, boolean authenticated,
+                                    APIResponse response) {
+        if (!isRecording()) {
+            return;
+        }
+        byte[] key = key(method, url, requestBody, authenticated).getBytes(StandardCharsets.UTF_8);
+        byte[] record = encode(key, response);
+        try {
+            long offset = dataChannel.size();
+            writeFully(dataChannel, ByteBuffer.wrap(record));
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            entry.putLong(Fnv1a.hash(key)).putLong(offset).putInt(record.length).flip();
+            writeFully(indexChannel, entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record response for " + method + " " + url, e);
+        }
+    }
+
+    // Devuelve la respuesta grabada para la request; falla si no hay ninguna
+    public APIResponse replay(String method, String url, byte[] requestBody, boolean authenticated) {
+        String key = key(method, url, requestBody, authenticated);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        // Las colisiones del hash se resuelven comparando la clave completa
+        List<long[]> candidates = index.get(Fnv1a.hash(keyBytes));
+        List<long[]> matches = new ArrayList<>();
+        if (candidates != null) {
+            for (long[] candidate : candidates) {
+                if (keyMatches(candidate[0], keyBytes)) {
+                    matches.add(candidate);
+                }
+            }
+        }
+        if (matches.isEmpty()) {
+            throw new IllegalStateException("No recorded response for " + key + " in " + directory);
+        }
+        int occurrence = replayCursor.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        long[] match = matches.get(Math.min(occurrence, matches.size() - 1));
+        return decode(match[0], url);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (dataChannel != null) {
+                dataChannel.force(false);
+                dataChannel.close();
+            }
+            if (indexChannel != null) {
+                indexChannel.force(false);
+                indexChannel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close replay store", e);
+        }
+    }
+
+    // Clave normalizada: el host no cuenta, la query se ordena y el JSON se reescribe con claves ordenadas
+    static String key(String method, String url, byte[] requestBody, boolean authenticated) {
+        StringBuilder key = new StringBuilder(128);
+        key.append(method.toUpperCase(Locale.ROOT)).append(' ');
+        URI uri = URI.create(url);
+        key.append(uri.getRawPath());
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            String[] params = query.split("&");
+            Arrays.sort(params);
+            key.append('?').append(String.join("&", params));
+        }
+        // Sin token la API responde 401 con el mismo body, así que la autenticación forma parte de la clave
+        key.append(authenticated ? " auth" : " anon");
+        if (requestBody != null && requestBody.length > 0) {
+            key.append(' ').append(canonicalBody(requestBody));
+        }
+        return key.toString();
+    }
+
+    private static String canonicalBody(byte[] body) {
+        try {
+            JsonNode tree = JsonSupport.readTree(body);
+            Object value = JsonSupport.mapper().treeToValue(tree, Object.class);
+            return CANONICAL_WRITER.writeValueAsString(value);
+        } catch (IOException e) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void openForRecord() throws IOException {
+        Files.createDirectories(directory);
+        dataChannel = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        indexChannel = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void openForReplay() throws IOException {
+        Path dataFile = directory.resolve(DATA_FILE);
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Replay data file too large to map: " + channel.size() + " bytes");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(INDEX_FILE)));
+        Map<Long, List<long[]>> loaded = new HashMap<>();
+        while (entries.remaining() >= INDEX_ENTRY_BYTES) {
+            long hash = entries.getLong();
+            long offset = entries.getLong();
+            int length = entries.getInt();
+            loaded.computeIfAbsent(hash, h -> new ArrayList<>(1)).add(new long[] {offset, length});
+        }
+        index = loaded;
+    }
+
+    // Formato: keyLen key status statusTextLen statusText headerCount (nameLen name valueLen value)* bodyLen body
+    private static byte[] encode(byte[] key, APIResponse response) {
+        byte[] statusText = bytes(response.statusText());
+        List<HttpHeader> headers = response.headersArray();
+        byte[] body = response.body() != null ? response.body() : new byte[0];
+        List<byte[]> headerBytes = new ArrayList<>(headers.size() * 2);
+        int size = Integer.BYTES * 5 + key.length + statusText.length + body.length;
+        for (HttpHeader header : headers) {
+            byte[] name = bytes(header.name);
+            byte[] value = bytes(header.value);
+            headerBytes.add(name);
+            headerBytes.add(value);
+            size += Integer.BYTES * 2 + name.length + value.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(key.length).put(key);
+        buffer.putInt(response.status());
+        buffer.putInt(statusText.length).put(statusText);
+        buffer.putInt(headers.size());
+        for (byte[] part : headerBytes) {
+            buffer.putInt(part.length).put(part);
+        }
+        buffer.putInt(body.length).put(body);
+        return buffer.array();
+    }
+
+    private boolean keyMatches(long offset, byte[] key) {
+        ByteBuffer view = mapped.duplicate();
+        view.position((int) offset);
+        if (view.getInt() != key.length) {
+            return false;
+        }
+        for (byte b : key) {
+            if (view.get() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BufferedAPIResponse decode(long offset, String url) {
+        ByteBuffer view = mapped.duplicate();
+        view.position((int) offset);
+        int keyLength = view.getInt();
+        view.position(view.position() + keyLength);
+        int status = view.getInt();
+        String statusText = string(view);
+        int headerCount = view.getInt();
+        List<HttpHeader> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            HttpHeader header = new HttpHeader();
+            header.name = string(view);
+            header.value = string(view);
+            headers.add(header);
+        }
+        byte[] body = new byte[view.getInt()];
+        view.get(body);
+        return new BufferedAPIResponse(status, statusText, url, headers, body);
+    }
+
+    private static String string(ByteBuffer view) {
+        byte[] value = new byte[view.getInt()];
+        view.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
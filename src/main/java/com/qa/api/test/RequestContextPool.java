@@ -0,0 +1,179 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.Playwright;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado de instancias Playwright + APIRequestContext.
+ *
+ * Playwright no es thread-safe, por eso cada slot se presta a un único hilo a la vez
+ * (lease) y se devuelve al pool al cerrar el Lease. Los slots se crean bajo demanda
+ * hasta el tamaño máximo, o por adelantado con {@link #warmUp()}.
+ */
+public class RequestContextPool {
+
+    private final int maxSize;
+    private final int timeout;
+    private final long leaseTimeoutMillis;
+    private final BlockingQueue<Slot> idle = new LinkedBlockingQueue<>();
+    private final List<Slot> allSlots = new CopyOnWriteArrayList<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed;
+
+    public RequestContextPool(int maxSize, int timeout, long leaseTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+    }
+
+    // Toma un contexto del pool, creándolo si aún no se alcanzó el máximo
+    public Lease lease() {
+        if (closed) {
+            throw new IllegalStateException("Request context pool is closed");
+        }
+        Slot slot = idle.poll();
+        if (slot == null) {
+            slot = tryCreate();
+        }
+        if (slot == null) {
+            try {
+                slot = idle.poll(leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a request context", e);
+            }
+            if (slot == null) {
+                throw new IllegalStateException(
+                        "No request context available after " + leaseTimeoutMillis + " ms (pool size " + maxSize + ")");
+            }
+        }
+        return new Lease(slot);
+    }
+
+    // Crea todos los slots al inicio de la suite para no pagar el arranque en el primer test
+    public void warmUp() {
+        Slot slot;
+        while ((slot = tryCreate()) != null) {
+            idle.offer(slot);
+        }
+    }
+
+    public int size() {
+        return created.get();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    // Libera todos los contextos y procesos de Playwright
+    public void close() {
+        closed = true;
+        for (Slot slot : allSlots) {
+            slot.dispose();
+        }
+        allSlots.clear();
+        idle.clear();
+    }
+
+    private Slot tryCreate() {
+        while (true) {
+            int current = created.get();
+            if (current >= maxSize) {
+                return null;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        try {
+            Playwright playwright = Playwright.create();
+            APIRequestContext context = playwright.request().newContext(
+                    new APIRequest.NewContextOptions().setTimeout(timeout));
+            Slot slot = new Slot(playwright, context);
+            allSlots.add(slot);
+            return slot;
+        } catch (RuntimeException e) {
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void release(Slot slot, boolean broken) {
+        if (closed || broken) {
+            allSlots.remove(slot);
+            slot.dispose();
+            if (!closed) {
+                created.decrementAndGet();
+            }
+            return;
+        }
+        idle.offer(slot);
+    }
+
+    private static final class Slot {
+        private final Playwright playwright;
+        private final APIRequestContext context;
+        // Solo lo modifica el hilo que tiene el slot prestado
+        private long uses;
+
+        private Slot(Playwright playwright, APIRequestContext context) {
+            this.playwright = playwright;
+            this.context = context;
+        }
+
+        private void dispose() {
+            try {
+                context.dispose();
+            } finally {
+                playwright.close();
+            }
+        }
+    }
+
+    /**
+     * Préstamo exclusivo de un contexto. Debe usarse con try-with-resources.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Slot slot;
+        private boolean broken;
+        private boolean released;
+
+        private Lease(Slot slot) {
+            this.slot = slot;
+        }
+
+        public APIRequestContext context() {
+            return slot.context;
+        }
+
+        // Cuenta una request sobre este contexto; true si es la primera (aún no tenía conexión abierta)
+        public boolean markUsed() {
+            return slot.uses++ == 0;
+        }
+
+        // Marca el contexto como inservible para que se descarte en lugar de reutilizarse
+        public void invalidate() {
+            broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(slot, broken);
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.utils.ConfigReader;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caché LRU de respuestas GET con revalidación condicional.
+ *
+ * Guarda las respuestas 200 por URL, acotada por número de entradas y por bytes de body. Una entrada
+ * más reciente que maxAgeMillis se sirve sin tocar la red (hit); si no, la request sale con If-None-Match
+ * (ETag) o If-Modified-Since (Last-Modified) y un 304 devuelve la respuesta guardada. Las escrituras
+ * invalidan el recurso y los listados de su colección. Cada URL con requests en vuelo tiene un contador
+ * de generación que las invalidaciones incrementan; una respuesta solo se guarda si su generación no cambió
+ * durante la request, para que un GET lento no vuelva a meter en la caché datos anteriores a una escritura.
+ * Cuenta hits, misses y 304 para medir tanto el ahorro del cliente como el soporte de requests
+ * condicionales del servidor.
+ */
+public class ResponseCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxAgeNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Generation> generations = new HashMap<>();
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder changed = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public ResponseCache(boolean enabled, int maxEntries, long maxBytes, long maxAgeMillis) {
+        if (maxEntries < 1 || maxBytes < 1 || maxAgeMillis < 0) {
+            throw new IllegalArgumentException("Invalid response cache settings: entries=" + maxEntries
+                    + ", bytes=" + maxBytes + ", maxAge=" + maxAgeMillis);
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    }
+
+    // Configuración: cache.enabled, cache.max.entries, cache.max.bytes y cache.max.age.ms (0 = revalidar siempre)
+    public static ResponseCache fromConfig() {
+        return new ResponseCache(
+                ConfigReader.getBoolean("cache.enabled", false),
+                ConfigReader.getInt("cache.max.entries", 1000),
+                ConfigReader.getLong("cache.max.bytes", 16L * 1024 * 1024),
+                ConfigReader.getLong("cache.max.age.ms", 0));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // GET a través de la caché; fetch envía la request con las cabeceras recibidas (más las condicionales)
+    public APIResponse get(String url, Map<String, String> headers,
+                           Function<Map<String, String>, APIResponse> fetch) {
+        Entry entry = lookup(url);
+        if (entry != null && System.nanoTime() - entry.storedAt < maxAgeNanos) {
+            hits.increment();
+            bytesSaved.add(entry.response.body().length);
+            return entry.response;
+        }
+        if (entry != null) {
+            if (entry.etag != null) {
+                headers.put("If-None-Match", entry.etag);
+            }
+            if (entry.lastModified != null) {
+                headers.put("If-Modified-Since", entry.lastModified);
+            }
+        }
+        long generation = beginFetch(url);
+        try {
+            APIResponse response = fetch.apply(headers);
+            if (entry != null && response.status() == 304) {
+                notModified.increment();
+                bytesSaved.add(entry.response.body().length);
+                storeIfCurrent(url, entry.response, generation);
+                return entry.response;
+            }
+            if (entry != null) {
+                changed.increment();
+            } else {
+                misses.increment();
+            }
+            if (response.status() == 200) {
+                storeIfCurrent(url, response, generation);
+            } else {
+                invalidate(url);
+            }
+            return response;
+        } finally {
+            endFetch(url);
+        }
+    }
+
+    // Una escritura sobre resourceUrl invalida el recurso y los listados de collectionUrl (con cualquier query)
+    public synchronized void invalidate(String resourceUrl, String collectionUrl) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> current = iterator.next();
+            if (affected(current.getKey(), resourceUrl, collectionUrl)) {
+                bytes -= current.getValue().size;
+                iterator.remove();
+            }
+        }
+        for (Map.Entry<String, Generation> current : generations.entrySet()) {
+            if (affected(current.getKey(), resourceUrl, collectionUrl)) {
+                current.getValue().value++;
+            }
+        }
+    }
+
+    public synchronized void invalidate(String url) {
+        Entry removed = entries.remove(url);
+        if (removed != null) {
+            bytes -= removed.size;
+        }
+        Generation generation = generations.get(url);
+        if (generation != null) {
+            generation.value++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+        for (Generation generation : generations.values()) {
+            generation.value++;
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), notModified.sum(), changed.sum(), misses.sum(), evictions.sum(),
+                bytesSaved.sum(), entries.size(), bytes);
+    }
+
+    private synchronized Entry lookup(String url) {
+        return entries.get(url);
+    }
+
+    private static boolean affected(String url, String resourceUrl, String collectionUrl) {
+        return url.equals(resourceUrl) || url.startsWith(resourceUrl + "?") || url.equals(collectionUrl)
+                || url.startsWith(collectionUrl + "?");
+    }
+
+    // Registra una request en vuelo y devuelve la generación actual de la URL
+    private synchronized long beginFetch(String url) {
+        Generation generation = generations.computeIfAbsent(url, key -> new Generation());
+        generation.fetches++;
+        return generation.value;
+    }
+
+    private synchronized void endFetch(String url) {
+        Generation generation = generations.get(url);
+        if (--generation.fetches == 0) {
+            generations.remove(url);
+        }
+    }
+
+    // Descarta la respuesta si la URL se invalidó mientras la request estaba en vuelo
+    private synchronized void storeIfCurrent(String url, APIResponse response, long generation) {
+        if (generations.get(url).value == generation) {
+            store(url, response);
+        }
+    }
+
+    private synchronized void store(String url, APIResponse response) {
+        Entry entry = new Entry(response);
+        if (entry.size > maxBytes) {
+            invalidate(url);
+            return;
+        }
+        Entry previous = entries.put(url, entry);
+        bytes += entry.size - (previous != null ? previous.size : 0);
+        // El orden de acceso deja primero la entrada usada hace más tiempo
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            if (evicted == entry) {
+                break;
+            }
+            bytes -= evicted.size;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    // Solo existe mientras haya requests en vuelo para la URL, así el mapa no crece con cada URL pedida
+    private static final class Generation {
+        private long value;
+        private int fetches;
+    }
+
+    private static final class Entry {
+        private final APIResponse response;
+        private final String etag;
+        private final String lastModified;
+        private final long size;
+        private final long storedAt = System.nanoTime();
+
+        private Entry(APIResponse response) {
+            this.response = response;
+            this.etag = response.headers().get("etag");
+            this.lastModified = response.headers().get("last-modified");
+            this.size = response.body().length;
+        }
+    }
+
+    /**
+     * Contadores de la caché. hits: servidas sin red; notModified: revalidadas con 304; changed:
+     * revalidadas pero con contenido nuevo (200); misses: sin entrada.
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long notModified;
+        private final long changed;
+        private final long misses;
+        private final long evictions;
+        private final long bytesSaved;
+        private final int entries;
+        private final long bytes;
+
+        Stats(long hits, long notModified, long changed, long misses, long evictions, long bytesSaved,
+              int entries, long bytes) {
+            this.hits = hits;
+            this.notModified = notModified;
+            this.changed = changed;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.bytesSaved = bytesSaved;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        public long notModified() {
+            return notModified;
+        }
+
+        public long changed() {
+            return changed;
+        }
+
+        public long misses() {
+            return misses;
+        }
+
+        public long evictions() {
+            return evictions;
+        }
+
+        public long bytesSaved() {
+            return bytesSaved;
+        }
+
+        public int entries() {
+            return entries;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        public long lookups() {
+            return hits + notModified + changed + misses;
+        }
+
+        // Fracción de GET servidos con la respuesta guardada (sin red o con 304)
+        public double hitRate() {
+            return rate(hits + notModified);
+        }
+
+        // Fracción de revalidaciones que el servidor resolvió con 304
+        public double notModifiedRate() {
+            long revalidations = notModified + changed;
+            return revalidations > 0 ? notModified / (double) revalidations : 0;
+        }
+
+        private double rate(long count) {
+            long lookups = lookups();
+            return lookups > 0 ? count / (double) lookups : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "response cache: %d lookups, %d hits, %d not modified (304), %d changed, %d misses; "
+                            + "hit rate %.1f%%, 304 rate %.1f%%, %d B not re-downloaded, %d entries (%d B), "
+                            + "%d evictions",
+                    lookups(), hits, notModified, changed, misses, hitRate() * 100, notModifiedRate() * 100,
+                    bytesSaved, entries, bytes, evictions);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.qa.api.test;
+
+import com.qa.api.utils.ConfigReader;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reintentos con backoff exponencial y jitter completo.
+ *
+ * Un 429 se reintenta siempre (el servidor no procesó la request). Los 5xx y los errores de transporte
+ * solo se reintentan en métodos idempotentes (GET, PUT, DELETE), para no crear usuarios duplicados.
+ */
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    // Configuración: retry.max.attempts, retry.base.delay.ms y retry.max.delay.ms
+    public static RetryPolicy fromConfig() {
+        return new RetryPolicy(
+                ConfigReader.getInt("retry.max.attempts", 3),
+                ConfigReader.getLong("retry.base.delay.ms", 200),
+                ConfigReader.getLong("retry.max.delay.ms", 5000));
+    }
+
+    // status < 0 indica un error de transporte (timeout, conexión cortada)
+    public boolean shouldRetry(String method, int status, int attempt) {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+        if (status == 429) {
+            return true;
+        }
+        return isIdempotent(method) && (status < 0 || status >= 500);
+    }
+
+    // Espera aleatoria entre 0 y base * 2^(intento-1), sin bajar de lo que pida Retry-After
+    public long delayMillis(int attempt, long retryAfterMillis) {
+        long exponential = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        long jittered = exponential > 0 ? ThreadLocalRandom.current().nextLong(exponential + 1) : 0;
+        return Math.max(jittered, retryAfterMillis);
+    }
+
+    public void sleep(int attempt, long retryAfterMillis) {
+        try {
+            Thread.sleep(delayMillis(attempt, retryAfterMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    static boolean isIdempotent(String method) {
+        switch (method.toUpperCase(Locale.ROOT)) {
+            case "GET":
+            case "PUT":
+            case "DELETE":
+            case "HEAD":
+            case "OPTIONS":
+                return true;
+            default:
+                return false;
+        }
+    }
+}
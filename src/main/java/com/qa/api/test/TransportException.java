@@ -0,0 +1,13 @@
+package com.qa.api.test;
+
+/**
+ * La request no obtuvo respuesta del servidor (timeout, conexión rechazada o cortada).
+ */
+public class TransportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TransportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,70 @@
+package com.qa.api.test;
+
+import com.qa.api.utils.ConfigReader;
+
+/**
+ * Ajustes de conexión del transporte HTTP.
+ *
+ * poolSize: contextos Playwright (o conexiones HTTP/1.1) simultáneos. keepAlive=false fuerza una conexión
+ * por request (Connection: close), útil para medir cuánto ahorra la reutilización. http2 pide HTTP/2 con
+ * multiplexación cuando el transporte y el servidor lo soportan.
+ */
+public class TransportSettings {
+
+    private final int poolSize;
+    private final boolean keepAlive;
+    private final long keepAliveTimeoutSeconds;
+    private final boolean http2;
+    private final int timeoutMillis;
+    private final long leaseTimeoutMillis;
+
+    public TransportSettings(int poolSize, boolean keepAlive, long keepAliveTimeoutSeconds, boolean http2,
+                             int timeoutMillis, long leaseTimeoutMillis) {
+        this.poolSize = poolSize;
+        this.keepAlive = keepAlive;
+        this.keepAliveTimeoutSeconds = keepAliveTimeoutSeconds;
+        this.http2 = http2;
+        this.timeoutMillis = timeoutMillis;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+    }
+
+    // api.pool.size, api.keepalive, api.keepalive.timeout.seconds, api.http2, api.timeout, api.pool.lease.timeout
+    public static TransportSettings fromConfig() {
+        return new TransportSettings(
+                ConfigReader.getPoolSize(),
+                ConfigReader.getBoolean("api.keepalive", true),
+                ConfigReader.getLong("api.keepalive.timeout.seconds", 30),
+                ConfigReader.getBoolean("api.http2", true),
+                ConfigReader.getTimeout(),
+                ConfigReader.getPoolLeaseTimeout());
+    }
+
+    public int poolSize() {
+        return poolSize;
+    }
+
+    public boolean keepAlive() {
+        return keepAlive;
+    }
+
+    public long keepAliveTimeoutSeconds() {
+        return keepAliveTimeoutSeconds;
+    }
+
+    public boolean http2() {
+        return http2;
+    }
+
+    public int timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public long leaseTimeoutMillis() {
+        return leaseTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "pool=" + poolSize + ", keepAlive=" + keepAlive + ", http2=" + http2;
+    }
+}
@@ -0,0 +1,283 @@
+package com.qa.api.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logging de consola y de ExtentReports fuera del hilo que hace la request.
+ *
+ * Los hilos de test solo encolan eventos en un buffer circular acotado (ArrayBlockingQueue); un único hilo
+ * escritor los vacía por lotes y hace una sola escritura a stdout por lote. Si el buffer está lleno el
+ * evento se descarta y se cuenta, nunca se bloquea al llamador. El formateo (incluida la conversión de
+ * bodies a texto y su truncado) se hace en el hilo escritor.
+ *
+ * Configuración:
+ * - log.level: OFF, SUMMARY (sin bodies) o FULL (por defecto)
+ * - log.body.max.chars: longitud máxima de los bodies en el log (por defecto 2000)
+ * - log.sample.rate: fracción de eventos de request que se registran, de 0 a 1 (por defecto 1)
+ * - log.buffer.size: capacidad del buffer (por defecto 8192)
+ */
+public final class AsyncLog {
+
+    public enum Level { OFF, SUMMARY, FULL }
+
+    private static final int MAX_BATCH = 512;
+
+    private static final Writer WRITER = new Writer(
+            Level.valueOf(ConfigReader.getProperty("log.level", "FULL").toUpperCase(Locale.ROOT)),
+            ConfigReader.getInt("log.body.max.chars", 2000),
+            ConfigReader.getDouble("log.sample.rate", 1.0),
+            ConfigReader.getInt("log.buffer.size", 8192),
+            System.out);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WRITER::drainRemaining, "async-log-shutdown"));
+    }
+
+    private AsyncLog() {
+    }
+
+    // Mensaje de request: respeta el nivel y el muestreo
+    public static void info(String message) {
+        WRITER.info(message, null);
+    }
+
+    // Igual que info(String), pero la concatenación se hace en el hilo escritor
+    public static void info(String prefix, Object value) {
+        WRITER.info(prefix, value);
+    }
+
+    // Resumen de la ejecución (limpieza, métricas, caché): se escribe salvo con OFF y nunca se muestrea
+    public static void summary(String prefix, Object value) {
+        WRITER.summary(prefix, value);
+    }
+
+    // Body de request o respuesta: solo en nivel FULL, truncado a log.body.max.chars
+    public static void body(String label, byte[] body) {
+        WRITER.body(label, body);
+    }
+
+    // Entrada del reporte Extent: no se muestrea, se aplica en el hilo escritor
+    public static void report(ExtentTest test, Status status, String message) {
+        if (test != null) {
+            WRITER.enqueue(new ReportEntry(test, status, message, null));
+        }
+    }
+
+    public static void report(ExtentTest test, Status status, Throwable throwable) {
+        if (test != null) {
+            WRITER.enqueue(new ReportEntry(test, status, null, throwable));
+        }
+    }
+
+    // Espera a que se escriban todos los eventos encolados hasta ahora (por ejemplo antes de extent.flush)
+    public static void flush() {
+        WRITER.flush();
+    }
+
+    public static long dropped() {
+        return WRITER.dropped();
+    }
+
+    public static Level level() {
+        return WRITER.level;
+    }
+
+    /**
+     * Buffer y hilo escritor. AsyncLog usa una única instancia configurada con log.*; los tests crean la
+     * suya con otra salida.
+     */
+    static final class Writer {
+        private final Level level;
+        private final int bodyMaxChars;
+        private final double sampleRate;
+        private final BlockingQueue<Object> queue;
+        private final LongAdder dropped = new LongAdder();
+        private final PrintStream out;
+
+        Writer(Level level, int bodyMaxChars, double sampleRate, int bufferSize, PrintStream out) {
+            this.level = level;
+            this.bodyMaxChars = bodyMaxChars;
+            this.sampleRate = sampleRate;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+            this.out = out;
+            Thread writer = new Thread(this::drainLoop, "async-log-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        void info(String prefix, Object value) {
+            if (level != Level.OFF && sampled()) {
+                enqueue(new Line(prefix, value));
+            }
+        }
+
+        void summary(String prefix, Object value) {
+            if (level != Level.OFF) {
+                enqueue(new Line(prefix, value));
+            }
+        }
+
+        void body(String label, byte[] body) {
+            if (level == Level.FULL && sampled()) {
+                enqueue(new Body(label, body));
+            }
+        }
+
+        void flush() {
+            CountDownLatch latch = new CountDownLatch(1);
+            try {
+                if (queue.offer(latch, 5, TimeUnit.SECONDS)) {
+                    latch.await(30, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long dropped() {
+            return dropped.sum();
+        }
+
+        private boolean sampled() {
+            return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        }
+
+        private void enqueue(Object event) {
+            if (!queue.offer(event)) {
+                dropped.increment();
+            }
+        }
+
+        private void drainLoop() {
+            List<Object> batch = new ArrayList<>(MAX_BATCH);
+            StringBuilder text = new StringBuilder(16 * 1024);
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch, text);
+            }
+        }
+
+        private synchronized void drainRemaining() {
+            List<Object> batch = new ArrayList<>();
+            queue.drainTo(batch);
+            write(batch, new StringBuilder());
+            long count = dropped.sum();
+            if (count > 0) {
+                out.println("Async log dropped " + count + " events (buffer full)");
+            }
+        }
+
+        private synchronized void write(List<Object> batch, StringBuilder text) {
+            for (Object event : batch) {
+                try {
+                    if (event instanceof Line) {
+                        ((Line) event).appendTo(text);
+                    } else if (event instanceof Body) {
+                        ((Body) event).appendTo(text, bodyMaxChars);
+                    } else if (event instanceof ReportEntry) {
+                        ((ReportEntry) event).apply();
+                    } else if (event instanceof CountDownLatch) {
+                        flushText(text);
+                        ((CountDownLatch) event).countDown();
+                    }
+                } catch (RuntimeException e) {
+                    text.append("Async log event failed: ").append(e).append('\n');
+                }
+            }
+            batch.clear();
+            flushText(text);
+        }
+
+        private void flushText(StringBuilder text) {
+            if (text.length() > 0) {
+                out.print(text);
+                out.flush();
+                text.setLength(0);
+            }
+        }
+    }
+
+    private static final class Line {
+        private final String prefix;
+        private final Object value;
+
+        private Line(String prefix, Object value) {
+            this.prefix = prefix;
+            this.value = value;
+        }
+
+        private void appendTo(StringBuilder text) {
+            text.append(prefix);
+            if (value != null) {
+                text.append(value);
+            }
+            text.append('\n');
+        }
+    }
+
+    private static final class Body {
+        private final String label;
+        private final byte[] body;
+
+        private Body(String label, byte[] body) {
+            this.label = label;
+            this.body = body;
+        }
+
+        private void appendTo(StringBuilder text, int maxChars) {
+            text.append(label);
+            if (body == null) {
+                text.append("<empty>\n");
+                return;
+            }
+            String content = new String(body, StandardCharsets.UTF_8);
+            if (content.length() > maxChars) {
+                text.append(content, 0, maxChars)
+                        .append("... [truncated, ").append(body.length).append(" bytes]");
+            } else {
+                text.append(content);
+            }
+            text.append('\n');
+        }
+    }
+
+    private static final class ReportEntry {
+        private final ExtentTest test;
+        private final Status status;
+        private final String message;
+        private final Throwable throwable;
+
+        private ReportEntry(ExtentTest test, Status status, String message, Throwable throwable) {
+            this.test = test;
+            this.status = status;
+            this.message = message;
+            this.throwable = throwable;
+        }
+
+        private void apply() {
+            if (throwable != null) {
+                test.log(status, throwable);
+            } else {
+                test.log(status, message);
+            }
+        }
+    }
+}
@@ -1,47 +1,301 @@
 package com.qa.api.utils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
+/**
+ * Configuración del proyecto.
+ *
+ * Se carga una sola vez (la primera vez que se usa) desde el fichero indicado en config.file (propiedad de
+ * sistema o variable CONFIG_FILE) o, si no se indica, desde config.properties en el classpath; si no está
+ * en el classpath, desde src/test/resources. Cada clave puede sobrescribirse con una propiedad de sistema
+ * (-Dapi.base.url=...) o una variable de entorno (API_BASE_URL=...), en ese orden de prioridad.
+ *
+ * Los valores tipados se parsean una vez y quedan en un snapshot inmutable. Con config.watch=true el
+ * fichero se vigila y, al cambiar, se publica un snapshot nuevo (útil en ejecuciones de soak largas). Se
+ * vigila config.file si se indica y, si no, src/test/resources/config.properties cuando existe: la copia
+ * del classpath (target/test-classes) solo cambia al recompilar.
+ */
 public class ConfigReader {
 
-    private static Properties properties;
+    private static final String CONFIG_RESOURCE = "config.properties";
     private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
+    private static final String CONFIG_FILE_KEY = "config.file";
+
+    private static volatile Snapshot snapshot = Snapshot.load();
 
     static {
-        try {
-            properties = new Properties();
-            FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH);
-            properties.load(fis);
-            fis.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to load config.properties file");
+        if (getBoolean("config.watch", false)) {
+            startWatching();
         }
     }
 
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.resolve(key);
+    }
+
+    public static String getProperty(String key, String defaultValue) {
+        String value = snapshot.resolve(key);
+        return value != null ? value : defaultValue;
+    }
+
+    // Getters tipados genéricos: el valor parseado se guarda en el snapshot actual
+    public static int getInt(String key, int defaultValue) {
+        return snapshot.typed(key, "int", Integer::parseInt, defaultValue);
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        return snapshot.typed(key, "long", Long::parseLong, defaultValue);
+    }
+
+    public static double getDouble(String key, double defaultValue) {
+        return snapshot.typed(key, "double", Double::parseDouble, defaultValue);
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot.typed(key, "boolean", Boolean::parseBoolean, defaultValue);
     }
 
     public static String getBaseUrl() {
-        return properties.getProperty("api.base.url");
+        return snapshot.baseUrl;
     }
 
     public static String getAuthToken() {
-        return properties.getProperty("api.auth.token");
+        return snapshot.authToken;
     }
 
     public static int getTimeout() {
-        return Integer.parseInt(properties.getProperty("api.timeout"));
+        return snapshot.timeout;
+    }
+
+    public static int getPoolSize() {
+        return snapshot.poolSize;
+    }
+
+    public static long getPoolLeaseTimeout() {
+        return snapshot.poolLeaseTimeout;
+    }
+
+    public static int getMaxPending() {
+        return snapshot.maxPending;
     }
 
     public static String getExtentReportPath() {
-        return properties.getProperty("extent.report.path");
+        return snapshot.extentReportPath;
     }
 
     public static String getExtentReportName() {
-        return properties.getProperty("extent.report.name");
+        return snapshot.extentReportName;
+    }
+
+    // Fichero vigilado (y releído en reload), o null si la configuración no viene de un fichero
+    public static Path getWatchedFile() {
+        return snapshot.file;
+    }
+
+    // Vuelve a leer config.file o, si no se indica, el fichero vigilado, y publica un snapshot nuevo
+    public static void reload() {
+        Path file = snapshot.file;
+        snapshot = file != null && Snapshot.configFile() == null ? Snapshot.load(file) : Snapshot.load();
+        AsyncLog.summary("Configuration reloaded from ", snapshot.source);
+    }
+
+    // Vigila el fichero de configuración en un hilo daemon y recarga al detectar cambios
+    public static void startWatching() {
+        // Los mensajes se escriben desde el hilo del watcher: AsyncLog lee ConfigReader al inicializarse
+        Path file = snapshot.file;
+        Thread watcher = new Thread(() -> watch(file), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch(Path file) {
+        if (file == null) {
+            AsyncLog.summary("Configuration cannot be watched, loaded from ", snapshot.source);
+            return;
+        }
+        AsyncLog.summary("Watching configuration file ", file.toAbsolutePath());
+        Path directory = file.toAbsolutePath().getParent();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context instanceof Path && file.getFileName().equals(context)) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (RuntimeException e) {
+                        AsyncLog.summary("Configuration reload failed, keeping previous values: ",
+                                e.getMessage());
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            AsyncLog.summary("Configuration watcher stopped: ", e.getMessage());
+        }
+    }
+
+    // Nombre de la variable de entorno equivalente: api.base.url -> API_BASE_URL
+    static String toEnvironmentName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    /**
+     * Valores de configuración en un momento dado. Inmutable salvo las cachés de lookups.
+     */
+    private static final class Snapshot {
+        private final Properties fileProperties;
+        private final String source;
+        private final Path file;
+        private final ConcurrentMap<String, Optional<String>> resolved = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Object> typed = new ConcurrentHashMap<>();
+
+        private final String baseUrl;
+        private final String authToken;
+        private final int timeout;
+        private final int poolSize;
+        private final long poolLeaseTimeout;
+        private final int maxPending;
+        private final String extentReportPath;
+        private final String extentReportName;
+
+        private Snapshot(Properties fileProperties, String source, Path file) {
+            this.fileProperties = fileProperties;
+            this.source = source;
+            this.file = file;
+            this.baseUrl = resolve("api.base.url");
+            this.authToken = resolve("api.auth.token");
+            this.timeout = typed("api.timeout", "int", Integer::parseInt, 30000);
+            this.poolSize = typed("api.pool.size", "int", Integer::parseInt,
+                    Runtime.getRuntime().availableProcessors());
+            this.poolLeaseTimeout = typed("api.pool.lease.timeout", "long", Long::parseLong, (long) timeout);
+            this.maxPending = typed("api.async.max.pending", "int", Integer::parseInt, 256);
+            this.extentReportPath = resolve("extent.report.path");
+            this.extentReportName = resolve("extent.report.name");
+        }
+
+        // config.file no puede venir del propio fichero: solo propiedad de sistema o variable de entorno
+        private static Path configFile() {
+            String value = System.getProperty(CONFIG_FILE_KEY);
+            if (isBlank(value)) {
+                value = System.getenv(toEnvironmentName(CONFIG_FILE_KEY));
+            }
+            return isBlank(value) ? null : Paths.get(value.trim());
+        }
+
+        private static Snapshot load() {
+            Path configFile = configFile();
+            if (configFile != null) {
+                return load(configFile);
+            }
+            Properties properties = new Properties();
+            try {
+                URL resource = Thread.currentThread().getContextClassLoader() != null
+                        ? Thread.currentThread().getContextClassLoader().getResource(CONFIG_RESOURCE)
+                        : ConfigReader.class.getClassLoader().getResource(CONFIG_RESOURCE);
+                if (resource != null) {
+                    try (InputStream in = resource.openStream()) {
+                        properties.load(in);
+                    }
+                    return new Snapshot(properties, resource.toString(), watchedFile(resource));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load config.properties file", e);
+            }
+            return load(Paths.get(CONFIG_FILE_PATH));
+        }
+
+        private static Snapshot load(Path path) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load configuration file " + path.toAbsolutePath(), e);
+            }
+            return new Snapshot(properties, path.toAbsolutePath().toString(), path);
+        }
+
+        // El fichero que se edita es el de src/test/resources; la copia del classpath solo si no existe
+        private static Path watchedFile(URL resource) {
+            Path source = Paths.get(CONFIG_FILE_PATH);
+            return Files.isRegularFile(source) ? source : toPath(resource);
+        }
+
+        private static Path toPath(URL resource) {
+            if (!"file".equals(resource.getProtocol())) {
+                return null;
+            }
+            try {
+                return Paths.get(resource.toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+
+        // Propiedad de sistema > variable de entorno > config.properties; los valores vacíos cuentan como ausentes
+        private String resolve(String key) {
+            return resolved.computeIfAbsent(key, k -> {
+                String value = System.getProperty(k);
+                if (isBlank(value)) {
+                    value = System.getenv(toEnvironmentName(k));
+                }
+                if (isBlank(value)) {
+                    value = fileProperties.getProperty(k);
+                }
+                return isBlank(value) ? Optional.empty() : Optional.of(value.trim());
+            }).orElse(null);
+        }
+
+        // La caché se indexa por clave y tipo, así la misma clave puede leerse como int y como long
+        @SuppressWarnings("unchecked")
+        private <T> T typed(String key, String type, Function<String, T> parser, T defaultValue) {
+            Object value = typed.computeIfAbsent(key + "#" + type, k -> {
+                String raw = resolve(key);
+                if (raw == null) {
+                    return Optional.empty();
+                }
+                try {
+                    return Optional.of(parser.apply(raw));
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid value for " + key + ": '" + raw + "'", e);
+                }
+            });
+            Optional<T> parsed = (Optional<T>) value;
+            return parsed.orElse(defaultValue);
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.trim().isEmpty();
+        }
     }
 }
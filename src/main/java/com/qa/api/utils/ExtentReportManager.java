@@ -6,11 +6,16 @@ import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class ExtentReportManager {
 
     private static ExtentReports extent;
     private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    private static StreamingReportWriter streamWriter;
 
     public static ExtentReports createInstance() {
         String reportPath = ConfigReader.getExtentReportPath();
@@ -54,4 +59,31 @@ public class ExtentReportManager {
     public static void removeTest() {
         test.remove();
     }
+
+    // report.mode=stream: cada test se añade a results.ndjson al terminar en lugar de mantenerse en memoria
+    public static boolean isStreaming() {
+        return "stream".equalsIgnoreCase(ConfigReader.getProperty("report.mode", "extent"));
+    }
+
+    public static synchronized StreamingReportWriter getStreamWriter() {
+        if (streamWriter == null) {
+            try {
+                streamWriter = new StreamingReportWriter(
+                        Paths.get(ConfigReader.getExtentReportPath(), "results.ndjson"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create streaming report", e);
+            }
+        }
+        return streamWriter;
+    }
+
+    // Genera StreamReport.html a partir de los resultados escritos hasta ahora
+    public static synchronized void renderStreamReport() {
+        Path target = Paths.get(ConfigReader.getExtentReportPath(), "StreamReport.html");
+        try {
+            StreamingHtmlReport.render(getStreamWriter().file(), target, ConfigReader.getExtentReportName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to render streaming report", e);
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package com.qa.api.utils;
+
+/**
+ * Hash FNV-1a de 64 bits. No es criptográfico: sirve para índices y ETags, donde quien lo usa resuelve o
+ * tolera las colisiones.
+ */
+public final class Fnv1a {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fnv1a() {
+    }
+
+    public static long hash(byte[] bytes) {
+        long hash = OFFSET_BASIS;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,74 @@
+package com.qa.api.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.qa.api.model.ErrorMessage;
+import com.qa.api.model.FieldError;
+import com.qa.api.model.User;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * ObjectMapper compartido y lectores/escritores precalculados para los modelos de la API.
+ *
+ * ObjectMapper, ObjectReader y ObjectWriter son thread-safe una vez configurados; crearlos una sola vez
+ * evita repetir la introspección de clases en cada llamada.
+ */
+public final class JsonSupport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private static final ObjectReader USER_READER = MAPPER.readerFor(User.class);
+    private static final ObjectReader USER_LIST_READER = MAPPER.readerFor(new TypeReference<List<User>>() { });
+    private static final ObjectReader FIELD_ERRORS_READER =
+            MAPPER.readerFor(new TypeReference<List<FieldError>>() { });
+    private static final ObjectReader ERROR_MESSAGE_READER = MAPPER.readerFor(ErrorMessage.class);
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+    private static final ObjectWriter USER_WRITER = MAPPER.writerFor(User.class);
+
+    private JsonSupport() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static JsonFactory factory() {
+        return MAPPER.getFactory();
+    }
+
+    public static User readUser(byte[] body) throws IOException {
+        return USER_READER.readValue(body);
+    }
+
+    public static List<User> readUsers(byte[] body) throws IOException {
+        return USER_LIST_READER.readValue(body);
+    }
+
+    public static List<FieldError> readFieldErrors(byte[] body) throws IOException {
+        return FIELD_ERRORS_READER.readValue(body);
+    }
+
+    public static ErrorMessage readErrorMessage(byte[] body) throws IOException {
+        return ERROR_MESSAGE_READER.readValue(body);
+    }
+
+    public static JsonNode readTree(byte[] body) throws IOException {
+        return TREE_READER.readTree(body);
+    }
+
+    public static JsonNode readTree(String body) throws IOException {
+        return TREE_READER.readTree(body);
+    }
+
+    public static String writeUser(User user) throws IOException {
+        return USER_WRITER.writeValueAsString(user);
+    }
+}
@@ -0,0 +1,262 @@
+package com.qa.api.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Genera casos negativos para POST /users combinando variantes de cada campo del esquema.
+ *
+ * Cada campo tiene variantes válidas (longitudes límite, unicode, texto con inyección SQL/HTML) e
+ * inválidas (ausente, vacío, null, espacios, formato incorrecto, valores fuera del enum y tipos que no
+ * son texto). El producto cartesiano se recorre en un orden aleatorio reproducible (negative.seed) y se
+ * descartan los casos completamente válidos. Los casos que fallarían en los mismos validadores (misma
+ * firma campo:regla) se deduplican: como mucho negative.max.per.validator por firma y negative.budget
+ * en total. Una primera pasada toma un caso por firma para que el presupuesto cubra todas antes de repetir.
+ *
+ * Solo se usan tipos incorrectos cuyo texto sigue siendo inválido si el servidor los convierte a String,
+ * así el resultado esperado es el mismo en GoRest y en MockUsersServer.
+ */
+public class NegativeCaseGenerator {
+
+    // Marca de campo ausente en el payload (distinto de null en JSON)
+    public static final Object ABSENT = new Object() {
+        @Override
+        public String toString() {
+            return "<absent>";
+        }
+    };
+
+    private static final String[] FIELDS = {"name", "email", "gender", "status"};
+    private static final String VALID = "valid";
+
+    private final TestDataGenerator data;
+    private final long seed;
+    private final int budget;
+    private final int maxPerValidator;
+
+    public NegativeCaseGenerator(TestDataGenerator data, long seed, int budget, int maxPerValidator) {
+        if (budget < 1 || maxPerValidator < 1) {
+            throw new IllegalArgumentException("Budget and max per validator must be at least 1: "
+                    + budget + ", " + maxPerValidator);
+        }
+        this.data = data;
+        this.seed = seed;
+        this.budget = budget;
+        this.maxPerValidator = maxPerValidator;
+    }
+
+    // Configuración: negative.seed, negative.budget y negative.max.per.validator
+    public static NegativeCaseGenerator fromConfig() {
+        return new NegativeCaseGenerator(TestDataGenerator.shared(),
+                ConfigReader.getLong("negative.seed", 42),
+                ConfigReader.getInt("negative.budget", 200),
+                ConfigReader.getInt("negative.max.per.validator", 2));
+    }
+
+    public List<NegativeCase> generate() {
+        List<List<Variant>> variants = new ArrayList<>();
+        variants.add(nameVariants());
+        variants.add(emailVariants());
+        variants.add(enumVariants("male", "female"));
+        variants.add(enumVariants("active", "inactive"));
+
+        List<int[]> combinations = new ArrayList<>();
+        cartesian(variants, 0, new int[FIELDS.length], combinations);
+        Collections.shuffle(combinations, new Random(seed));
+
+        List<NegativeCase> cases = new ArrayList<>();
+        Map<String, Integer> perSignature = new HashMap<>();
+        boolean[] taken = new boolean[combinations.size()];
+        // Primera pasada: un caso por firma; segunda: hasta maxPerValidator
+        for (int limit : new int[] {1, maxPerValidator}) {
+            for (int c = 0; c < combinations.size(); c++) {
+                if (cases.size() >= budget) {
+                    return cases;
+                }
+                if (taken[c]) {
+                    continue;
+                }
+                Variant[] chosen = new Variant[FIELDS.length];
+                for (int i = 0; i < FIELDS.length; i++) {
+                    chosen[i] = variants.get(i).get(combinations.get(c)[i]);
+                }
+                String signature = signature(chosen);
+                if (signature.isEmpty() || perSignature.getOrDefault(signature, 0) >= limit) {
+                    continue;
+                }
+                perSignature.merge(signature, 1, Integer::sum);
+                taken[c] = true;
+                cases.add(toCase(chosen, signature));
+            }
+        }
+        return cases;
+    }
+
+    private NegativeCase toCase(Variant[] chosen, String signature) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        Set<String> invalidFields = new TreeSet<>();
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < FIELDS.length; i++) {
+            Variant variant = chosen[i];
+            Object value = variant.value;
+            // Cada caso lleva un email válido propio para no chocar con el validador de duplicados
+            if (value == Variant.UNIQUE_EMAIL) {
+                value = data.uniqueEmail("neg");
+            }
+            if (value != ABSENT) {
+                payload.put(FIELDS[i], value);
+            }
+            if (!VALID.equals(variant.rule)) {
+                invalidFields.add(FIELDS[i]);
+            }
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(FIELDS[i]).append('=').append(variant.label);
+        }
+        return new NegativeCase(description.toString(), Collections.unmodifiableMap(payload),
+                Collections.unmodifiableSet(invalidFields), signature);
+    }
+
+    // Firma de validadores: "email:format,gender:enum"; vacía si todos los campos son válidos
+    private static String signature(Variant[] chosen) {
+        StringBuilder signature = new StringBuilder();
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (!VALID.equals(chosen[i].rule)) {
+                if (signature.length() > 0) {
+                    signature.append(',');
+                }
+                signature.append(FIELDS[i]).append(':').append(chosen[i].rule);
+            }
+        }
+        return signature.toString();
+    }
+
+    private static void cartesian(List<List<Variant>> variants, int field, int[] current, List<int[]> out) {
+        if (field == variants.size()) {
+            out.add(current.clone());
+            return;
+        }
+        for (int i = 0; i < variants.get(field).size(); i++) {
+            current[field] = i;
+            cartesian(variants, field + 1, current, out);
+        }
+    }
+
+    private static List<Variant> nameVariants() {
+        List<Variant> variants = new ArrayList<>(blankVariants());
+        variants.add(new Variant("short", "A", VALID));
+        variants.add(new Variant("200 chars", repeat('n', 200), VALID));
+        variants.add(new Variant("unicode", "José Ñúñez 李小龍 🚀", VALID));
+        variants.add(new Variant("sql injection", "Robert'); DROP TABLE users;--", VALID));
+        variants.add(new Variant("html", "<script>alert(1)</script>", VALID));
+        return variants;
+    }
+
+    private static List<Variant> emailVariants() {
+        List<Variant> variants = new ArrayList<>(blankVariants());
+        variants.add(new Variant("unique", Variant.UNIQUE_EMAIL, VALID));
+        variants.add(new Variant("no at", "plainaddress", "format"));
+        variants.add(new Variant("no local part", "@example.com", "format"));
+        variants.add(new Variant("no domain", "user@", "format"));
+        variants.add(new Variant("double at", "user@@example.com", "format"));
+        variants.add(new Variant("space", "user name@example.com", "format"));
+        variants.add(new Variant("no tld", "user@example", "format"));
+        variants.add(new Variant("sql injection", "' OR '1'='1", "format"));
+        variants.add(new Variant("unicode, no tld", "josé@correo", "format"));
+        variants.add(new Variant("number", 12345, "format"));
+        variants.add(new Variant("boolean", true, "format"));
+        return variants;
+    }
+
+    private static List<Variant> enumVariants(String first, String second) {
+        List<Variant> variants = new ArrayList<>(blankVariants());
+        variants.add(new Variant(first, first, VALID));
+        variants.add(new Variant(second, second, VALID));
+        variants.add(new Variant("upper case", first.toUpperCase(Locale.ROOT), "enum"));
+        variants.add(new Variant("padded", " " + first + " ", "enum"));
+        variants.add(new Variant("unknown", "other", "enum"));
+        variants.add(new Variant("sql injection", first + "' OR '1'='1", "enum"));
+        variants.add(new Variant("number", 1, "enum"));
+        variants.add(new Variant("boolean", false, "enum"));
+        variants.add(new Variant("array", Arrays.asList(first, second), "enum"));
+        variants.add(new Variant("object", Collections.singletonMap("value", first), "enum"));
+        return variants;
+    }
+
+    private static List<Variant> blankVariants() {
+        return Arrays.asList(
+                new Variant("absent", ABSENT, "blank"),
+                new Variant("null", null, "blank"),
+                new Variant("empty", "", "blank"),
+                new Variant("spaces", "   ", "blank"));
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static final class Variant {
+        // Se sustituye por un email único al construir el caso
+        private static final Object UNIQUE_EMAIL = new Object();
+
+        private final String label;
+        private final Object value;
+        private final String rule;
+
+        private Variant(String label, Object value, String rule) {
+            this.label = label;
+            this.value = value;
+            this.rule = rule;
+        }
+    }
+
+    /**
+     * Un caso generado: payload a enviar y campos que deben aparecer en la respuesta 422.
+     */
+    public static final class NegativeCase {
+        private final String description;
+        private final Map<String, Object> payload;
+        private final Set<String> invalidFields;
+        private final String signature;
+
+        NegativeCase(String description, Map<String, Object> payload, Set<String> invalidFields, String signature) {
+            this.description = description;
+            this.payload = payload;
+            this.invalidFields = invalidFields;
+            this.signature = signature;
+        }
+
+        public String description() {
+            return description;
+        }
+
+        public Map<String, Object> payload() {
+            return payload;
+        }
+
+        public Set<String> invalidFields() {
+            return invalidFields;
+        }
+
+        public String signature() {
+            return signature;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.qa.api.utils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+
+/**
+ * Genera un reporte HTML a partir del NDJSON de StreamingReportWriter.
+ *
+ * El fichero se lee dos veces línea a línea (primero los totales, luego las filas), por lo que la memoria
+ * usada no depende del número de tests. También sirve para reconstruir el reporte de una ejecución
+ * interrumpida: java -cp ... com.qa.api.utils.StreamingHtmlReport results.ndjson report.html
+ */
+public final class StreamingHtmlReport {
+
+    private StreamingHtmlReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: StreamingHtmlReport <results.ndjson> [report.html]");
+            return;
+        }
+        Path source = Paths.get(args[0]);
+        Path target = args.length > 1 ? Paths.get(args[1]) : source.resolveSibling("StreamReport.html");
+        render(source, target, "API Test Report");
+        System.out.println("Report written to " + target.toAbsolutePath());
+    }
+
+    public static void render(Path source, Path target, String title) throws IOException {
+        long passed = 0;
+        long failed = 0;
+        long skipped = 0;
+        long corrupt = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                StreamingReportWriter.Record record = parseOrNull(line);
+                if (record == null) {
+                    corrupt++;
+                } else if ("PASS".equals(record.getStatus())) {
+                    passed++;
+                } else if ("FAIL".equals(record.getStatus())) {
+                    failed++;
+                } else {
+                    skipped++;
+                }
+            }
+        }
+
+        // Se escribe en un temporal y se renombra, así nunca queda un HTML a medias
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writeHeader(out, title, passed, failed, skipped, corrupt);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                StreamingReportWriter.Record record = line.isEmpty() ? null : parseOrNull(line);
+                if (record != null) {
+                    writeRow(out, record);
+                }
+            }
+            out.write("</tbody></table></body></html>\n");
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Una línea corrupta (por ejemplo la última si la JVM murió escribiéndola) no invalida el reporte
+    private static StreamingReportWriter.Record parseOrNull(String line) {
+        try {
+            return StreamingReportWriter.parse(line);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeHeader(BufferedWriter out, String title, long passed, long failed, long skipped,
+                                     long corrupt) throws IOException {
+        out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>");
+        out.write(escape(title));
+        out.write("</title><style>"
+                + "body{font-family:sans-serif;background:#1e1e1e;color:#ddd;margin:2em}"
+                + "table{border-collapse:collapse;width:100%}td,th{border:1px solid #444;padding:4px 8px;"
+                + "vertical-align:top;text-align:left}"
+                + ".PASS{color:#4caf50}.FAIL{color:#f44336}.SKIP{color:#ff9800}"
+                + "pre{white-space:pre-wrap;margin:0;max-height:20em;overflow:auto}"
+                + "</style></head><body>\n");
+        out.write("<h1>" + escape(title) + "</h1>\n");
+        out.write("<p>Generated " + Instant.now() + " &mdash; total " + (passed + failed + skipped)
+                + ", <span class=\"PASS\">passed " + passed + "</span>"
+                + ", <span class=\"FAIL\">failed " + failed + "</span>"
+                + ", <span class=\"SKIP\">skipped " + skipped + "</span>"
+                + (corrupt > 0 ? ", unreadable lines " + corrupt : "") + "</p>\n");
+        out.write("<table><thead><tr><th>Test</th><th>Method</th><th>Status</th><th>Duration (ms)</th>"
+                + "<th>Details</th></tr></thead><tbody>\n");
+    }
+
+    private static void writeRow(BufferedWriter out, StreamingReportWriter.Record record) throws IOException {
+        String status = record.getStatus() != null ? record.getStatus() : "SKIP";
+        out.write("<tr><td>");
+        out.write(escape(record.getTest()));
+        out.write("</td><td>");
+        out.write(escape(record.getMethod()));
+        if (record.getParameters() != null && !record.getParameters().isEmpty()) {
+            out.write("<br><small>");
+            out.write(escape(String.join(", ", record.getParameters())));
+            out.write("</small>");
+        }
+        if (record.getDescription() != null) {
+            out.write("<br><small>");
+            out.write(escape(record.getDescription()));
+            out.write("</small>");
+        }
+        out.write("</td><td class=\"" + escape(status) + "\">" + escape(status) + "</td><td>");
+        out.write(String.valueOf(Math.max(record.getEnd() - record.getStart(), 0)));
+        out.write("</td><td>");
+        if (record.getLog() != null) {
+            for (String entry : record.getLog()) {
+                out.write(escape(entry));
+                out.write("<br>");
+            }
+        }
+        if (record.getError() != null) {
+            out.write("<pre>");
+            out.write(escape(record.getError()));
+            out.write("</pre>");
+        }
+        out.write("</td></tr>\n");
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
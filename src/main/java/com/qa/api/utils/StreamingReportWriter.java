@@ -0,0 +1,175 @@
+package com.qa.api.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Reporte incremental en formato NDJSON: una línea JSON por test terminado.
+ *
+ * Cada línea se escribe y se vacía al sistema operativo en cuanto el test termina, así el heap no crece
+ * con el número de tests y, si la JVM muere, el fichero conserva todos los resultados anteriores.
+ * El HTML se genera a partir de este fichero con StreamingHtmlReport.
+ */
+public class StreamingReportWriter implements Closeable {
+
+    private static final ObjectWriter RECORD_WRITER = JsonSupport.mapper().writerFor(Record.class);
+    private static final ObjectReader RECORD_READER = JsonSupport.mapper().readerFor(Record.class);
+
+    private final Path file;
+    private final BufferedWriter writer;
+
+    // Crea (o trunca) el fichero de resultados de una nueva ejecución
+    public StreamingReportWriter(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public synchronized void append(Record record) {
+        try {
+            writer.write(RECORD_WRITER.writeValueAsString(record));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append test result to " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    public static Record parse(String line) throws IOException {
+        return RECORD_READER.readValue(line);
+    }
+
+    /**
+     * Resultado de un test tal como se guarda en cada línea del NDJSON.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Record {
+        private String suite;
+        private String test;
+        private String className;
+        private String method;
+        private String description;
+        private String status;
+        private long start;
+        private long end;
+        private List<String> parameters;
+        private String error;
+        private List<String> log;
+
+        public String getSuite() {
+            return suite;
+        }
+
+        public void setSuite(String suite) {
+            this.suite = suite;
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public void setTest(String test) {
+            this.test = test;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public void setClassName(String className) {
+            this.className = className;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        // PASS, FAIL o SKIP
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public void setStart(long start) {
+            this.start = start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public void setEnd(long end) {
+            this.end = end;
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(List<String> parameters) {
+            this.parameters = parameters;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        // Líneas adicionales asociadas al test (por ejemplo métricas o SLAs)
+        public List<String> getLog() {
+            return log;
+        }
+
+        public void setLog(List<String> log) {
+            this.log = log;
+        }
+    }
+}
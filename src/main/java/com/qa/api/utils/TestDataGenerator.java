@@ -0,0 +1,119 @@
+package com.qa.api.utils;
+
+import com.qa.api.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de datos de prueba rápido, thread-safe y reproducible.
+ *
+ * Cada usuario se deriva de (semilla, índice) con la función de mezcla de SplittableRandom, así que
+ * no hay estado compartido salvo un contador atómico y la misma semilla produce los mismos datos.
+ * Los emails llevan el namespace de la ejecución y el índice, por lo que no se repiten dentro de una
+ * ejecución ni entre ejecuciones con distinto namespace.
+ *
+ * Configuración: data.seed (por defecto aleatoria) y data.namespace (por defecto, el instante de arranque).
+ */
+public final class TestDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Luis", "María", "Carlos", "Lucía", "Javier", "Sofía", "Diego", "Elena", "Pablo",
+            "Laura", "Andrés", "Marta", "Jorge", "Paula", "Raúl", "Carmen", "Hugo", "Irene", "Mateo"
+    };
+    private static final String[] LAST_NAMES = {
+            "García", "Martínez", "López", "Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz",
+            "Hernández", "Díaz", "Moreno", "Álvarez", "Romero", "Navarro", "Torres", "Domínguez", "Vega"
+    };
+    private static final String[] GENDERS = { "male", "female" };
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static volatile TestDataGenerator shared;
+
+    private final long seed;
+    private final String namespace;
+    private final AtomicLong counter = new AtomicLong();
+
+    public TestDataGenerator(long seed, String namespace) {
+        this.seed = seed;
+        this.namespace = namespace;
+    }
+
+    // Generador compartido de la ejecución, configurado con data.seed y data.namespace
+    public static TestDataGenerator shared() {
+        TestDataGenerator generator = shared;
+        if (generator == null) {
+            synchronized (TestDataGenerator.class) {
+                generator = shared;
+                if (generator == null) {
+                    long seed = ConfigReader.getLong("data.seed", ThreadLocalRandom.current().nextLong());
+                    String namespace = ConfigReader.getProperty("data.namespace",
+                            Long.toString(System.currentTimeMillis(), 36));
+                    generator = new TestDataGenerator(seed, namespace);
+                    System.out.println("Test data generator: seed=" + seed + ", namespace=" + namespace);
+                    shared = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public String namespace() {
+        return namespace;
+    }
+
+    // Siguiente usuario de la secuencia
+    public User nextUser() {
+        return userAt(counter.getAndIncrement());
+    }
+
+    // Usuario en la posición indicada: siempre el mismo para la misma semilla y namespace
+    public User userAt(long index) {
+        long bits = mix64(seed + GOLDEN_GAMMA * (index + 1));
+        String suffix = Long.toString(index, 36);
+        String firstName = FIRST_NAMES[(int) Long.remainderUnsigned(bits, FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[(int) Long.remainderUnsigned(bits >>> 16, LAST_NAMES.length)];
+        String gender = GENDERS[(int) ((bits >>> 40) & 1)];
+        return new User(firstName + " " + lastName + " " + suffix,
+                "user." + namespace + "." + suffix + "@example.com",
+                gender,
+                "active");
+    }
+
+    // Email único con el prefijo indicado, para tests que necesitan un email concreto
+    public String uniqueEmail(String prefix) {
+        return prefix + "." + namespace + "." + Long.toString(counter.getAndIncrement(), 36) + "@example.com";
+    }
+
+    // Genera por adelantado n usuarios consecutivos
+    public List<User> pregenerate(int count) {
+        long first = counter.getAndAdd(count);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(userAt(first + i));
+        }
+        return users;
+    }
+
+    // Genera por adelantado n payloads JSON listos para RequestOptions.setData
+    public List<byte[]> pregeneratePayloads(int count) {
+        List<byte[]> payloads = new ArrayList<>(count);
+        for (User user : pregenerate(count)) {
+            payloads.add(UserPayloadWriter.write(user.getName(), user.getEmail(), user.getGender(), user.getStatus()));
+        }
+        return payloads;
+    }
+
+    // Función de mezcla de SplittableRandom (variante de MurmurHash3 fmix64)
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
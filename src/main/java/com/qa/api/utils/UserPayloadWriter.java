@@ -0,0 +1,69 @@
+package com.qa.api.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Serializa el cuerpo JSON de un usuario directamente a bytes UTF-8.
+ *
+ * Cada hilo reutiliza su propio buffer y JsonGenerator, de modo que construir un payload no crea
+ * Strings intermedios: la única asignación es el byte[] final que se pasa a RequestOptions.setData.
+ * El escape de comillas, barras y caracteres de control lo hace Jackson.
+ */
+public final class UserPayloadWriter {
+
+    private static final ThreadLocal<PayloadBuffer> BUFFERS = ThreadLocal.withInitial(PayloadBuffer::new);
+
+    private UserPayloadWriter() {
+    }
+
+    // Los campos nulos se omiten (por ejemplo gender y status en un PUT)
+    public static byte[] write(String name, String email, String gender, String status) {
+        PayloadBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        try {
+            JsonGenerator generator = buffer.generator;
+            generator.writeStartObject();
+            writeField(generator, "name", name);
+            writeField(generator, "email", email);
+            writeField(generator, "gender", gender);
+            writeField(generator, "status", status);
+            generator.writeEndObject();
+            generator.flush();
+        } catch (IOException e) {
+            // El destino es un buffer en memoria: solo puede fallar por un error de programación
+            BUFFERS.remove();
+            throw new UncheckedIOException("Failed to serialise user payload", e);
+        }
+        return buffer.toExactArray();
+    }
+
+    private static void writeField(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static final class PayloadBuffer extends ByteArrayOutputStream {
+        private final JsonGenerator generator;
+
+        private PayloadBuffer() {
+            super(256);
+            try {
+                generator = JsonSupport.factory().createGenerator(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            // Sin separador entre documentos: cada payload empieza en un buffer vacío
+            generator.setRootValueSeparator(null);
+        }
+
+        private byte[] toExactArray() {
+            return Arrays.copyOf(buf, count);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.qa.api.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lectura en streaming de listados de usuarios con el JsonParser de Jackson.
+ *
+ * Recorre el array elemento a elemento y solo extrae id, email y status, sin construir un árbol JsonNode.
+ * Cada registro se valida al leerlo; los errores se acumulan en el Result (hasta MAX_ERRORS mensajes).
+ */
+public final class UserStreamParser {
+
+    private static final JsonFactory FACTORY = JsonSupport.factory();
+    private static final int MAX_ERRORS = 20;
+
+    private UserStreamParser() {
+    }
+
+    /**
+     * Recibe cada usuario leído. Devolver false detiene la lectura del resto del array.
+     */
+    @FunctionalInterface
+    public interface UserVisitor {
+        boolean visit(UserSummary user);
+    }
+
+    public static Result parseUsers(byte[] body, UserVisitor visitor) throws IOException {
+        return parseUsers(new ByteArrayInputStream(body), visitor);
+    }
+
+    public static Result parseUsers(InputStream in, UserVisitor visitor) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of users but found " + parser.currentToken());
+            }
+            Result result = new Result();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("Unexpected end of input inside users array");
+                }
+                int index = result.count;
+                result.count++;
+                if (token != JsonToken.START_OBJECT) {
+                    result.addError("Element " + index + " is not an object: " + token);
+                    parser.skipChildren();
+                    continue;
+                }
+                UserSummary user = readUser(parser);
+                String error = validate(user);
+                if (error != null) {
+                    result.addError("Element " + index + " (id " + user.id() + "): " + error);
+                }
+                if (!visitor.visit(user)) {
+                    result.stopped = true;
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+
+    // Busca el campo "id" de primer nivel de un objeto JSON sin leer el resto del documento
+    public static String readId(byte[] body) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object but found " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field) && value.isScalarValue()) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            throw new IOException("Response does not contain an 'id' field");
+        }
+    }
+
+    private static UserSummary readUser(JsonParser parser) throws IOException {
+        String id = null;
+        String email = null;
+        String status = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                switch (field) {
+                    case "id":
+                        id = parser.getText();
+                        break;
+                    case "email":
+                        email = parser.getText();
+                        break;
+                    case "status":
+                        status = parser.getText();
+                        break;
+                    default:
+                        break;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new UserSummary(id, email, status);
+    }
+
+    private static String validate(UserSummary user) {
+        if (user.id() == null || user.id().isEmpty()) {
+            return "missing id";
+        }
+        if (user.email() == null || user.email().indexOf('@') < 1) {
+            return "invalid email '" + user.email() + "'";
+        }
+        if (!"active".equals(user.status()) && !"inactive".equals(user.status())) {
+            return "invalid status '" + user.status() + "'";
+        }
+        return null;
+    }
+
+    /**
+     * Campos de un usuario que se extraen del listado.
+     */
+    public static final class UserSummary {
+        private final String id;
+        private final String email;
+        private final String status;
+
+        public UserSummary(String id, String email, String status) {
+            this.id = id;
+            this.email = email;
+            this.status = status;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public String email() {
+            return email;
+        }
+
+        public String status() {
+            return status;
+        }
+    }
+
+    /**
+     * Totales de una lectura: usuarios leídos, inválidos y los primeros mensajes de error.
+     */
+    public static final class Result {
+        private int count;
+        private int invalid;
+        private boolean stopped;
+        private final List<String> errors = new ArrayList<>();
+
+        private void addError(String message) {
+            invalid++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int invalid() {
+            return invalid;
+        }
+
+        // true si el visitor detuvo la lectura antes del final del array
+        public boolean stopped() {
+            return stopped;
+        }
+
+        public List<String> errors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.qa.api.load;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class LoadRunnerTest {
+
+    @Test
+    public void testMixFollowsWeights() throws InterruptedException {
+        StubCall stub = new StubCall();
+        LoadReport report = new LoadRunner(stub, closed(2, 300, "create=1,list=3")).run();
+
+        Map<LoadOperation, OperationStats> stats = byOperation(report);
+        long creates = total(stats.get(LoadOperation.CREATE));
+        long lists = total(stats.get(LoadOperation.LIST));
+        Assert.assertTrue(creates + lists > 1000, "La ejecución debe reunir muestras suficientes: " + (creates + lists));
+        double listShare = lists / (double) (creates + lists);
+        Assert.assertEquals(listShare, 0.75, 0.03, "LIST debe ser 3/4 de las requests");
+        Assert.assertEquals(total(stats.get(LoadOperation.DELETE)), 0, "Una operación sin peso no debe ejecutarse");
+    }
+
+    @Test
+    public void testStatsMatchCallsAndErrors() throws InterruptedException {
+        StubCall stub = new StubCall();
+        LoadReport report = new LoadRunner(stub, closed(2, 200, "create=1,list=2,get=1")).run();
+
+        Map<LoadOperation, OperationStats> stats = byOperation(report);
+        for (LoadOperation operation : new LoadOperation[] {LoadOperation.CREATE, LoadOperation.LIST, LoadOperation.GET}) {
+            OperationStats operationStats = stats.get(operation);
+            long calls = stub.calls.get(operation).sum();
+            Assert.assertTrue(calls > 0, operation + " debe ejecutarse");
+            Assert.assertEquals(total(operationStats), calls, "Cada llamada debe contarse una vez: " + operation);
+            Assert.assertEquals(operationStats.failures(), stub.failures.get(operation).sum(),
+                    "Errores de " + operation);
+            Assert.assertEquals(operationStats.histogram().getTotalCount(), calls,
+                    "El histograma de " + operation + " debe tener una muestra por llamada");
+        }
+        Assert.assertEquals(stats.get(LoadOperation.GET).successes(), 0, "Una excepción cuenta como error");
+        Assert.assertTrue(stats.get(LoadOperation.LIST).failures() > 0);
+        Assert.assertTrue(stats.get(LoadOperation.LIST).successes() > 0);
+    }
+
+    @Test
+    public void testHistogramsArePerOperation() throws InterruptedException {
+        StubCall stub = new StubCall();
+        stub.listSleepMillis = 5;
+        LoadReport report = new LoadRunner(stub, closed(1, 300, "create=1,list=1")).run();
+
+        Map<LoadOperation, OperationStats> stats = byOperation(report);
+        long fiveMillis = TimeUnit.MILLISECONDS.toMicros(5);
+        Assert.assertTrue(stats.get(LoadOperation.LIST).histogram().getMinValue() >= fiveMillis,
+                "Todas las muestras de LIST deben incluir los 5 ms del stub");
+        Assert.assertTrue(stats.get(LoadOperation.CREATE).histogram().getValueAtPercentile(50) < fiveMillis,
+                "La latencia de LIST no debe mezclarse con la de CREATE");
+    }
+
+    @Test
+    public void testDurationStopsRun() throws InterruptedException {
+        StubCall stub = new StubCall();
+        stub.listSleepMillis = 10;
+        long before = System.nanoTime();
+        LoadReport report = new LoadRunner(stub, closed(2, 200, "list=1")).run();
+
+        Assert.assertTrue(report.elapsed().toMillis() >= 200, "La ejecución debe durar lo configurado");
+        Assert.assertTrue(report.elapsed().toMillis() < 1000, "La ejecución debe parar al llegar al límite: "
+                + report.elapsed());
+        Assert.assertTrue(stub.lastStart.get() - before < TimeUnit.MILLISECONDS.toNanos(250),
+                "No deben empezar requests después del límite");
+        Assert.assertTrue(stub.calls.get(LoadOperation.LIST).sum() <= 2 * (200 / 10 + 1),
+                "Cada usuario virtual envía una request cada 10 ms como mucho");
+    }
+
+    private static LoadProfile closed(int users, long millis, String mix) {
+        return new LoadProfile(LoadProfile.Mode.CLOSED, users, 0, Duration.ofMillis(millis), OperationMix.parse(mix));
+    }
+
+    private static Map<LoadOperation, OperationStats> byOperation(LoadReport report) {
+        Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+        for (OperationStats operationStats : report.stats()) {
+            stats.put(operationStats.operation(), operationStats);
+        }
+        return stats;
+    }
+
+    private static long total(OperationStats stats) {
+        return stats.successes() + stats.failures();
+    }
+
+    // CREATE siempre crea, LIST falla una de cada tres y GET lanza una excepción
+    private static final class StubCall implements LoadRunner.OperationCall {
+        private final Map<LoadOperation, LongAdder> calls = new EnumMap<>(LoadOperation.class);
+        private final Map<LoadOperation, LongAdder> failures = new EnumMap<>(LoadOperation.class);
+        private final AtomicLong ids = new AtomicLong();
+        private final AtomicLong lastStart = new AtomicLong();
+        private volatile long listSleepMillis;
+
+        private StubCall() {
+            for (LoadOperation operation : LoadOperation.values()) {
+                calls.put(operation, new LongAdder());
+                failures.put(operation, new LongAdder());
+            }
+        }
+
+        @Override
+        public boolean execute(LoadOperation operation, String userId, Consumer<String> created)
+                throws IOException {
+            lastStart.accumulateAndGet(System.nanoTime(), Math::max);
+            calls.get(operation).increment();
+            switch (operation) {
+                case CREATE:
+                    created.accept(String.valueOf(ids.incrementAndGet()));
+                    return true;
+                case LIST:
+                    sleep(listSleepMillis);
+                    if (ids.incrementAndGet() % 3 == 0) {
+                        failures.get(operation).increment();
+                        return false;
+                    }
+                    return true;
+                case GET:
+                    failures.get(operation).increment();
+                    throw new IOException("stub failure");
+                default:
+                    return true;
+            }
+        }
+
+        private static void sleep(long millis) {
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
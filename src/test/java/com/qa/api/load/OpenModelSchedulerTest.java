@@ -0,0 +1,77 @@
+package com.qa.api.load;
+
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class OpenModelSchedulerTest {
+
+    private static final long SERVICE_MILLIS = 20;
+
+    @Test
+    public void testSaturatedExecutorCountsLateAndDropped() throws InterruptedException {
+        // 100 req/s con un worker que tarda 20 ms: llegan el doble de requests de las que puede atender
+        OpenModelScheduler scheduler = new OpenModelScheduler(100, 1, 2, TimeUnit.MILLISECONDS.toNanos(1));
+        List<long[]> samples = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+        scheduler.run(start, start + TimeUnit.MILLISECONDS.toNanos(400), intended -> {
+            long sent = System.nanoTime();
+            sleep(SERVICE_MILLIS);
+            long end = System.nanoTime();
+            samples.add(new long[] {intended, sent, end});
+        });
+
+        Assert.assertEquals(scheduler.scheduled(), 40, "Las requests se planifican a la tasa objetivo");
+        Assert.assertTrue(scheduler.dropped() > 0, "Con la cola llena deben descartarse requests");
+        Assert.assertTrue(scheduler.late() > 0, "Las requests encoladas empiezan tarde");
+        Assert.assertEquals(samples.size() + scheduler.dropped(), scheduler.scheduled(),
+                "Cada request planificada se ejecuta o se descarta");
+
+        long maxWait = 0;
+        for (long[] sample : samples) {
+            Assert.assertTrue(sample[1] - sample[0] >= 0, "Ninguna request empieza antes de su hora planificada");
+            maxWait = Math.max(maxWait, sample[1] - sample[0]);
+        }
+        Assert.assertTrue(maxWait >= TimeUnit.MILLISECONDS.toNanos(SERVICE_MILLIS),
+                "Alguna request debe esperar en cola al menos un tiempo de servicio: " + maxWait);
+    }
+
+    @Test
+    public void testLatencyMeasuredFromIntendedStart() throws InterruptedException {
+        LoadProfile profile = new LoadProfile(LoadProfile.Mode.OPEN, 1, 100, Duration.ofMillis(400),
+                OperationMix.parse("list=1"), 2, Duration.ofMillis(1));
+        LoadReport report = new LoadRunner((operation, userId, created) -> {
+            sleep(SERVICE_MILLIS);
+            return true;
+        }, profile).run();
+
+        OperationStats list = report.stats().stream()
+                .filter(stats -> stats.operation() == LoadOperation.LIST).findFirst().get();
+        Histogram response = list.histogram();
+        Histogram service = list.serviceHistogram();
+        Assert.assertEquals(response.getTotalCount(), service.getTotalCount());
+        Assert.assertTrue(report.dropped() > 0 && report.late() > 0, "El cliente debe estar saturado: " + report.late()
+                + " late, " + report.dropped() + " dropped");
+        // Con dos requests en cola, la última espera dos tiempos de servicio antes de enviarse
+        long serviceMicros = TimeUnit.MILLISECONDS.toMicros(SERVICE_MILLIS);
+        Assert.assertTrue(response.getMaxValue() >= 2 * serviceMicros,
+                "El tiempo de respuesta debe incluir la espera en cola: " + response.getMaxValue());
+        Assert.assertTrue(response.getMaxValue() > service.getMaxValue() + serviceMicros / 2,
+                "El tiempo de servicio no incluye la cola y debe ser menor: " + service.getMaxValue());
+        Assert.assertTrue(response.getMinValue() >= service.getMinValue(),
+                "El tiempo de respuesta nunca es menor que el de servicio");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
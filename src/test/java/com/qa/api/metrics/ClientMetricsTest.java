@@ -0,0 +1,54 @@
+package com.qa.api.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ClientMetricsTest {
+
+    @Test
+    public void testEndpointNormalisation() {
+        Assert.assertEquals(ClientMetrics.endpoint("https://gorest.co.in/public/v2/users/123?x=1"),
+                "/public/v2/users/{id}", "Los IDs numéricos y la query no deben crear series nuevas");
+        Assert.assertEquals(ClientMetrics.endpoint("https://gorest.co.in/public/v2/users?page=2"),
+                "/public/v2/users");
+        Assert.assertEquals(ClientMetrics.endpoint("http://127.0.0.1:8080/public/v2/users/42/posts#x"),
+                "/public/v2/users/{id}/posts");
+        Assert.assertEquals(ClientMetrics.endpoint("https://gorest.co.in"), "/");
+    }
+
+    @Test
+    public void testRecordAndExport() throws Exception {
+        ClientMetrics metrics = new ClientMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.record("get", "GET", "http://localhost/public/v2/users/" + i, i % 10 == 0 ? 404 : 200,
+                    TimeUnit.MILLISECONDS.toNanos(i), 0, 120);
+        }
+        metrics.record("create", "POST", "http://localhost/public/v2/users", 201,
+                TimeUnit.MILLISECONDS.toNanos(5), 80, 100);
+
+        List<ClientMetrics.SeriesSnapshot> snapshot = metrics.snapshot();
+        Assert.assertEquals(snapshot.size(), 2, "Debe haber una serie por operación y endpoint");
+        ClientMetrics.SeriesSnapshot get = snapshot.get(1);
+        Assert.assertEquals(get.operation(), "get");
+        Assert.assertEquals(get.count(), 100);
+        Assert.assertEquals(get.errors(), 10, "Los 404 cuentan como errores");
+        Assert.assertEquals(get.responseBytes(), 12000);
+        Assert.assertEquals(get.percentileMillis(50), 50.0, 0.1);
+
+        Path directory = Files.createTempDirectory("metrics");
+        List<Path> files = MetricsExporter.export(snapshot, directory);
+        Assert.assertEquals(files.size(), 3);
+        String prometheus = new String(Files.readAllBytes(directory.resolve(MetricsExporter.PROMETHEUS_FILE)),
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(prometheus.contains("api_client_requests_total{operation=\"get\",method=\"GET\","
+                + "endpoint=\"/public/v2/users/{id}\",status=\"404\"} 10"), prometheus);
+        List<String> csv = Files.readAllLines(directory.resolve(MetricsExporter.CSV_FILE));
+        Assert.assertEquals(csv.size(), 3, "Cabecera más una línea por serie");
+    }
+}
@@ -0,0 +1,60 @@
+package com.qa.api.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionStatsTest {
+
+    @Test
+    public void testReuseAndConnectOverhead() {
+        ConnectionStats stats = new ConnectionStats();
+        stats.transport("test");
+        for (int i = 0; i < 4; i++) {
+            stats.record(true, TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        for (int i = 0; i < 16; i++) {
+            stats.record(false, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        ConnectionStats.Snapshot snapshot = stats.snapshot();
+        Assert.assertEquals(snapshot.requests(), 20);
+        Assert.assertEquals(snapshot.newConnections(), 4);
+        Assert.assertEquals(snapshot.reuseRatio(), 0.8, 1e-9, "16 de 20 requests reutilizan conexión");
+        Assert.assertEquals(snapshot.estimatedConnectMillis(), 40, 0.1,
+                "El coste de conexión es la diferencia entre medianas en frío y en caliente");
+        Assert.assertTrue(snapshot.toString().contains("reuse 80.0%"), snapshot.toString());
+    }
+
+    @Test
+    public void testNoWarmSamples() {
+        ConnectionStats stats = new ConnectionStats();
+        stats.record(true, TimeUnit.MILLISECONDS.toNanos(30));
+
+        ConnectionStats.Snapshot snapshot = stats.snapshot();
+        Assert.assertEquals(snapshot.reuseRatio(), 0.0);
+        Assert.assertEquals(snapshot.estimatedConnectMillis(), 0.0, "Sin muestras en caliente no hay estimación");
+    }
+
+    @Test
+    public void testExportIncludesConnections() throws Exception {
+        ConnectionStats stats = new ConnectionStats();
+        stats.record(true, TimeUnit.MILLISECONDS.toNanos(20));
+        stats.record(false, TimeUnit.MILLISECONDS.toNanos(5));
+        Path dir = Files.createTempDirectory("connections");
+
+        MetricsExporter.export(new ClientMetrics().snapshot(), stats.snapshot(), dir);
+
+        String json = new String(Files.readAllBytes(dir.resolve(MetricsExporter.JSON_FILE)),
+                StandardCharsets.UTF_8);
+        String prom = new String(Files.readAllBytes(dir.resolve(MetricsExporter.PROMETHEUS_FILE)),
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(json.contains("\"newConnections\" : 1"), json);
+        Assert.assertTrue(prom.contains("api_client_connection_reuse_ratio 0.5"), prom);
+    }
+}
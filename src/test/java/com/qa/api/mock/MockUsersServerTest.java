@@ -0,0 +1,227 @@
+package com.qa.api.mock;
+
+import com.qa.api.model.FieldError;
+import com.qa.api.model.User;
+import com.qa.api.utils.JsonSupport;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MockUsersServerTest {
+
+    private static final String TOKEN = "Bearer test-token";
+
+    private MockUsersServer server;
+    private HttpClient client;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        server = new MockUsersServer(0, TOKEN);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testCreateGetUpdateDelete() throws Exception {
+        HttpResponse<byte[]> created = send("POST", server.usersUrl(),
+                "{\"name\":\"Ana\",\"email\":\"ana.crud@example.com\",\"gender\":\"female\",\"status\":\"active\"}",
+                true);
+        Assert.assertEquals(created.statusCode(), 201, "El usuario debe crearse");
+        User user = JsonSupport.readUser(created.body());
+        Assert.assertNotNull(user.getId(), "La respuesta debe incluir el ID");
+
+        String url = server.usersUrl() + "/" + user.getId();
+        Assert.assertEquals(send("GET", url, null, false).statusCode(), 200, "El usuario debe poder leerse");
+
+        HttpResponse<byte[]> updated = send("PUT", url, "{\"name\":\"Ana María\"}", true);
+        Assert.assertEquals(updated.statusCode(), 200, "El usuario debe actualizarse");
+        User after = JsonSupport.readUser(updated.body());
+        Assert.assertEquals(after.getName(), "Ana María");
+        Assert.assertEquals(after.getEmail(), "ana.crud@example.com", "Los campos no enviados se conservan");
+
+        Assert.assertEquals(send("DELETE", url, null, true).statusCode(), 204, "El usuario debe eliminarse");
+        Assert.assertEquals(send("GET", url, null, false).statusCode(), 404, "El usuario eliminado no debe existir");
+    }
+
+    @Test
+    public void testWritesRequireAuthentication() throws Exception {
+        HttpResponse<byte[]> response = send("POST", server.usersUrl(),
+                "{\"name\":\"Sin\",\"email\":\"sin.auth@example.com\",\"gender\":\"male\",\"status\":\"active\"}",
+                false);
+        Assert.assertEquals(response.statusCode(), 401, "Sin token debe devolver 401");
+        Assert.assertEquals(JsonSupport.readErrorMessage(response.body()).getMessage(), "Authentication failed");
+    }
+
+    @Test
+    public void testValidationErrors() throws Exception {
+        HttpResponse<byte[]> response = send("POST", server.usersUrl(),
+                "{\"name\":\"\",\"email\":\"no-es-email\",\"gender\":\"other\",\"status\":\"unknown\"}", true);
+        Assert.assertEquals(response.statusCode(), 422, "Datos inválidos deben devolver 422");
+        List<FieldError> errors = JsonSupport.readFieldErrors(response.body());
+        Assert.assertEquals(errors.size(), 4, "Debe haber un error por campo");
+    }
+
+    @Test
+    public void testDuplicateEmailIsRejected() throws Exception {
+        String body = "{\"name\":\"Dup\",\"email\":\"dup@example.com\",\"gender\":\"male\",\"status\":\"active\"}";
+        Assert.assertEquals(send("POST", server.usersUrl(), body, true).statusCode(), 201);
+        HttpResponse<byte[]> duplicate = send("POST", server.usersUrl(), body, true);
+        Assert.assertEquals(duplicate.statusCode(), 422, "El email duplicado debe rechazarse");
+        Assert.assertEquals(JsonSupport.readFieldErrors(duplicate.body()).get(0).getMessage(),
+                "has already been taken");
+    }
+
+    @Test
+    public void testPaginationHeaders() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            send("POST", server.usersUrl(), "{\"name\":\"P" + i + "\",\"email\":\"page" + i
+                    + "@example.com\",\"gender\":\"male\",\"status\":\"inactive\"}", true);
+        }
+        HttpResponse<byte[]> response = send("GET", server.usersUrl() + "?page=2&per_page=2", null, false);
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertEquals(JsonSupport.readUsers(response.body()).size(), 2, "La página debe respetar per_page");
+        Assert.assertEquals(response.headers().firstValue("X-Pagination-Page").orElse(null), "2");
+        Assert.assertEquals(response.headers().firstValue("X-Pagination-Limit").orElse(null), "2");
+        int total = Integer.parseInt(response.headers().firstValue("X-Pagination-Total").orElse("0"));
+        Assert.assertEquals(total, server.userCount(), "El total debe coincidir con el almacén");
+    }
+
+    @Test
+    public void testConditionalGet() throws Exception {
+        HttpResponse<byte[]> created = send("POST", server.usersUrl(),
+                "{\"name\":\"Eva\",\"email\":\"eva.etag@example.com\",\"gender\":\"female\",\"status\":\"active\"}",
+                true);
+        String url = server.usersUrl() + "/" + JsonSupport.readUser(created.body()).getId();
+
+        HttpResponse<byte[]> first = send("GET", url, null, true);
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        Assert.assertNotNull(etag, "Los GET deben devolver ETag");
+
+        HttpResponse<byte[]> notModified = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofByteArray());
+        Assert.assertEquals(notModified.statusCode(), 304, "Con el mismo ETag debe responder 304");
+        Assert.assertEquals(notModified.body().length, 0, "Un 304 no lleva body");
+
+        send("PUT", url, "{\"name\":\"Eva Updated\"}", true);
+        HttpResponse<byte[]> changed = client.send(HttpRequest.newBuilder(URI.create(url))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofByteArray());
+        Assert.assertEquals(changed.statusCode(), 200, "Tras actualizar, el ETag anterior ya no coincide");
+        Assert.assertNotEquals(changed.headers().firstValue("ETag").orElse(null), etag);
+    }
+
+    @Test
+    public void testPagingSkipsDeletedUsersBeyondIndexGrowth() throws Exception {
+        // Servidor y cliente propios: el puerto de un servidor cerrado puede reutilizarse y el cliente
+        // compartido intentaría usar una conexión keep-alive ya muerta
+        try (OwnServer own = new OwnServer()) {
+            // Más de 1024 IDs para que el índice tenga que crecer
+            List<Long> remaining = new ArrayList<>();
+            for (int i = 0; i < 1500; i++) {
+                HttpResponse<byte[]> created = send(own, "POST", own.server.usersUrl(), "{\"name\":\"G" + i + "\",\"email\":\"grow"
+                        + i + "@example.com\",\"gender\":\"male\",\"status\":\"active\"}", true);
+                long id = JsonSupport.readUser(created.body()).getId();
+                if (i % 3 == 0) {
+                    Assert.assertEquals(send(own, "DELETE", own.server.usersUrl() + "/" + id, null, true).statusCode(), 204);
+                } else {
+                    remaining.add(0, id);
+                }
+            }
+            Assert.assertEquals(own.server.userCount(), remaining.size());
+
+            List<Long> listed = new ArrayList<>();
+            for (int page = 1; ; page++) {
+                HttpResponse<byte[]> response = send(own, "GET", own.server.usersUrl() + "?page=" + page + "&per_page=100",
+                        null, false);
+                Assert.assertEquals(response.headers().firstValue("X-Pagination-Total").orElse(null),
+                        String.valueOf(remaining.size()));
+                List<User> users = JsonSupport.readUsers(response.body());
+                if (users.isEmpty()) {
+                    break;
+                }
+                for (User user : users) {
+                    listed.add(user.getId());
+                }
+            }
+            Assert.assertEquals(listed, remaining, "Las páginas deben cubrir todos los usuarios, del más reciente "
+                    + "al más antiguo, sin repetir ni saltar ninguno");
+        }
+    }
+
+    @Test
+    public void testUpdateRacingDeleteDoesNotResurrectUser() throws Exception {
+        // Servidor y cliente propios: el puerto de un servidor cerrado puede reutilizarse y el cliente
+        // compartido intentaría usar una conexión keep-alive ya muerta
+        try (OwnServer own = new OwnServer()) {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                for (int i = 0; i < 100; i++) {
+                    String body = "{\"name\":\"R\",\"email\":\"race" + i
+                            + "@example.com\",\"gender\":\"male\",\"status\":\"active\"}";
+                    HttpResponse<byte[]> created = send(own, "POST", own.server.usersUrl(), body, true);
+                    String url = own.server.usersUrl() + "/" + JsonSupport.readUser(created.body()).getId();
+                    Future<HttpResponse<byte[]>> update = executor.submit(
+                            () -> send(own, "PUT", url, "{\"email\":\"moved" + url.hashCode() + "@example.com\"}", true));
+                    Future<HttpResponse<byte[]>> delete = executor.submit(() -> send(own, "DELETE", url, null, true));
+                    Assert.assertEquals(delete.get().statusCode(), 204);
+                    int updateStatus = update.get().statusCode();
+                    Assert.assertTrue(updateStatus == 200 || updateStatus == 404, "PUT: " + updateStatus);
+                    Assert.assertEquals(send(own, "GET", url, null, false).statusCode(), 404,
+                            "Un PUT concurrente no debe volver a insertar el usuario borrado");
+                }
+                Assert.assertEquals(own.server.userCount(), 0);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private HttpResponse<byte[]> send(String method, String url, String body, boolean auth) throws Exception {
+        return send(client, method, url, body, auth);
+    }
+
+    private static HttpResponse<byte[]> send(OwnServer own, String method, String url, String body, boolean auth)
+            throws Exception {
+        return send(own.client, method, url, body, auth);
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, String method, String url, String body,
+                                             boolean auth) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .header("Content-Type", "application/json");
+        if (auth) {
+            builder.header("Authorization", TOKEN);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static final class OwnServer implements AutoCloseable {
+        private final MockUsersServer server = new MockUsersServer(0, TOKEN);
+        private final HttpClient client = HttpClient.newHttpClient();
+
+        private OwnServer() throws IOException {
+        }
+
+        @Override
+        public void close() {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.qa.api.seed;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.mock.MockUsersServer;
+import com.qa.api.test.BufferedAPIResponse;
+import com.qa.api.test.HttpTransport;
+import com.qa.api.test.TransportSettings;
+import com.qa.api.utils.TestDataGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class UserSeederTest {
+
+    private static final String TOKEN = "Bearer test-token";
+
+    @Test
+    public void testSeedAgainstMockServer() throws Exception {
+        Path dir = Files.createTempDirectory("seed");
+        try (MockUsersServer server = new MockUsersServer(0, TOKEN);
+             HttpTransport transport = HttpTransport.create("jdk", new TransportSettings(4, true, 30, false, 5000, 5000))) {
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Content-Type", "application/json");
+            headers.put("Authorization", TOKEN);
+            UserSeeder.CreateCall create = payload -> CompletableFuture.supplyAsync(
+                    () -> transport.send("POST", server.usersUrl(), headers, payload));
+
+            UserSeeder.Result result = new UserSeeder(create, dir, 4, 10)
+                    .seed(UserSeeder.GENERATOR_SOURCE, 50, new TestDataGenerator(1, "seedtest"));
+            Assert.assertEquals(result.created(), 50, "Deben crearse todos los usuarios: " + result);
+            Assert.assertEquals(result.completed(), 50);
+            Assert.assertEquals(server.userCount(), 50);
+
+            try (UserIdFile ids = UserIdFile.open(dir.resolve(UserSeeder.IDS_FILE))) {
+                Assert.assertEquals(ids.count(), 50, "Cada posición debe tener su ID");
+                Set<Long> distinct = new HashSet<>();
+                for (long i = 0; i < ids.slots(); i++) {
+                    distinct.add(ids.get(i));
+                }
+                Assert.assertEquals(distinct.size(), 50, "Los IDs no deben repetirse");
+            }
+
+            // Simula un corte: el usuario 30 se creó pero su ID no llegó a disco y el checkpoint quedó atrás
+            try (UserIdFile ids = UserIdFile.openForWrite(dir.resolve(UserSeeder.IDS_FILE), 50)) {
+                ids.set(30, 0);
+            }
+            Path checkpointFile = dir.resolve(UserSeeder.CHECKPOINT_FILE);
+            SeedCheckpoint.load(checkpointFile).withCompleted(20).save(checkpointFile);
+
+            UserSeeder.Result resumed = new UserSeeder(create, dir, 4, 10)
+                    .seed(UserSeeder.GENERATOR_SOURCE, 50, new TestDataGenerator(99, "otro"));
+            Assert.assertEquals(resumed.created(), 0, "Al reanudar no se deben crear usuarios de nuevo: " + resumed);
+            Assert.assertEquals(resumed.existing(), 1, "El usuario sin ID anotado cuenta como ya existente");
+            Assert.assertEquals(resumed.skipped(), 29);
+            Assert.assertEquals(server.userCount(), 50);
+        }
+    }
+
+    @Test
+    public void testFailuresAreRetriedOnResume() throws Exception {
+        Path dir = Files.createTempDirectory("seed");
+        AtomicLong nextId = new AtomicLong(1000);
+        AtomicInteger calls = new AtomicInteger();
+        UserSeeder.CreateCall flaky = payload -> CompletableFuture.completedFuture(
+                calls.incrementAndGet() % 5 == 0 ? response(503, "{}") : created(nextId.getAndIncrement()));
+
+        UserSeeder.Result first = new UserSeeder(flaky, dir, 1, 3)
+                .seed(UserSeeder.GENERATOR_SOURCE, 20, new TestDataGenerator(5, "flaky"));
+        Assert.assertEquals(first.failed(), 4, "Uno de cada cinco POST falla: " + first);
+        Assert.assertEquals(first.completed(), 4, "El checkpoint se detiene en el primer fallo");
+        Assert.assertNotNull(first.firstError());
+
+        UserSeeder.CreateCall healthy = payload -> CompletableFuture.completedFuture(created(nextId.getAndIncrement()));
+        UserSeeder.Result second = new UserSeeder(healthy, dir, 2, 3)
+                .seed(UserSeeder.GENERATOR_SOURCE, 20, new TestDataGenerator(5, "flaky"));
+        Assert.assertEquals(second.created(), 4, "Solo se reintentan los fallidos: " + second);
+        Assert.assertEquals(second.completed(), 20);
+
+        try (UserIdFile ids = UserIdFile.open(dir.resolve(UserSeeder.IDS_FILE))) {
+            Assert.assertEquals(ids.count(), 20);
+            long sample = ids.sample(new Random(1));
+            Assert.assertTrue(sample >= 1000 && sample < nextId.get(), "La muestra debe ser un ID sembrado");
+            Assert.assertEquals(ids.sample(10, new Random(2)).size(), 10);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testCheckpointForAnotherSourceIsRejected() throws Exception {
+        Path dir = Files.createTempDirectory("seed");
+        UserSeeder.CreateCall create = payload -> CompletableFuture.completedFuture(created(1));
+        new UserSeeder(create, dir, 1, 10).seed(UserSeeder.GENERATOR_SOURCE, 1, new TestDataGenerator(1, "a"));
+        new UserSeeder(create, dir, 1, 10).seed(UserSeeder.GENERATOR_SOURCE, 2, new TestDataGenerator(1, "a"));
+    }
+
+    @Test
+    public void testIdFileRejectsBadHeader() throws Exception {
+        Path file = Files.createTempFile("ids", ".bin");
+        Files.write(file, "not an id file at all".getBytes(StandardCharsets.UTF_8));
+        try {
+            UserIdFile.open(file);
+            Assert.fail("Un fichero sin cabecera válida debe rechazarse");
+        } catch (IllegalStateException expected) {
+            Assert.assertTrue(expected.getMessage().contains("bad header"), expected.getMessage());
+        }
+    }
+
+    private static APIResponse created(long id) {
+        return response(201, "{\"id\":" + id + ",\"name\":\"x\"}");
+    }
+
+    private static APIResponse response(int status, String body) {
+        return new BufferedAPIResponse(status, "", "http://localhost/public/v2/users", Collections.emptyList(),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.qa.api.sla;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyCheckTest {
+
+    @Test
+    public void testMeasuresIterationsAndPercentiles() {
+        LatencyResult result = LatencyCheck.of("sleep").warmup(2).iterations(10).concurrency(2)
+                .percentile(95, 1000)
+                .run(() -> Thread.sleep(5));
+        Assert.assertEquals(result.iterations(), 10);
+        Assert.assertEquals(result.errors(), 0);
+        Assert.assertTrue(result.percentileMillis(50) >= 4.5, "Cada iteración duerme 5 ms: " + result);
+        Assert.assertTrue(result.throughput() > 0);
+    }
+
+    @Test
+    public void testPercentileBudgetViolation() {
+        LatencyResult result = LatencyCheck.of("slow").warmup(0).iterations(5).percentile(95, 1)
+                .measure(() -> Thread.sleep(5));
+        Assert.assertFalse(result.withinBudget(), "p95 de 5 ms no cabe en un presupuesto de 1 ms");
+        Assert.assertTrue(result.violations().get(0).startsWith("p95"), result.violations().toString());
+    }
+
+    @Test
+    public void testErrorsAndThroughputBudgets() {
+        LatencyResult result = LatencyCheck.of("failing").warmup(0).iterations(4).minThroughput(1_000_000)
+                .measure(() -> {
+                    throw new IllegalStateException("boom");
+                });
+        Assert.assertEquals(result.errors(), 4);
+        Assert.assertEquals(result.violations().size(), 2, "Deben fallar el throughput y la tasa de errores");
+        Assert.assertTrue(result.firstError() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testNotSlowerComparison() {
+        LatencyResult fast = LatencyCheck.of("page 1").warmup(0).iterations(3).measure(() -> Thread.sleep(1));
+        LatencyResult slow = LatencyCheck.of("page 50").warmup(0).iterations(3).measure(() -> Thread.sleep(30));
+        LatencyCheck.assertNotSlower(slow, fast, 50, 1.5, 0);
+        try {
+            LatencyCheck.assertNotSlower(fast, slow, 50, 1.5, 5);
+            Assert.fail("La página lenta debe fallar la comparación");
+        } catch (AssertionError expected) {
+            Assert.assertTrue(expected.getMessage().contains("page 50"), expected.getMessage());
+        }
+    }
+}
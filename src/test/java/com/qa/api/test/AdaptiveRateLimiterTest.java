@@ -0,0 +1,99 @@
+package com.qa.api.test;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptiveRateLimiterTest {
+
+    @Test
+    public void testBurstThenPacedByRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(true, 10, 1, 2);
+        long now = System.nanoTime();
+        Assert.assertEquals(limiter.reserve(now), 0, "El burst inicial no debe esperar");
+        Assert.assertEquals(limiter.reserve(now), 0);
+        long wait = limiter.reserve(now);
+        Assert.assertTrue(Math.abs(wait - TimeUnit.MILLISECONDS.toNanos(100)) < TimeUnit.MILLISECONDS.toNanos(5),
+                "A 10 req/s la tercera request debe esperar unos 100 ms: " + wait);
+    }
+
+    @Test
+    public void testRateFollowsRateLimitHeaders() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(true, 100, 1, 5);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-ratelimit-limit", "90");
+        headers.put("x-ratelimit-remaining", "30");
+        headers.put("x-ratelimit-reset", "10");
+        limiter.update(200, headers);
+        Assert.assertEquals(limiter.rate(), 3.0, 0.001, "La tasa debe repartir la cuota restante en la ventana");
+    }
+
+    @Test
+    public void testExhaustedQuotaBlocksUntilReset() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(true, 100, 1, 5);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-ratelimit-remaining", "0");
+        headers.put("x-ratelimit-reset", "2");
+        limiter.update(429, headers);
+        long wait = limiter.reserve(System.nanoTime());
+        Assert.assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(1900), "Debe esperarse hasta el reset: " + wait);
+    }
+
+    @Test
+    public void testTooManyRequestsWithoutHeadersHalvesRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(true, 40, 1, 5);
+        limiter.update(429, Collections.emptyMap());
+        Assert.assertEquals(limiter.rate(), 20.0, 0.001);
+        limiter.update(200, Collections.emptyMap());
+        Assert.assertEquals(limiter.rate(), 22.0, 0.001, "Las respuestas correctas deben subir la tasa poco a poco");
+    }
+
+    @Test
+    public void testAutoModeStartsLimitingOnlyWhenServerHasQuota() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(AdaptiveRateLimiter.Mode.AUTO, 10, 1, 2);
+        Assert.assertFalse(limiter.isActive(), "En AUTO no se limita hasta ver la cuota del servidor");
+        limiter.update(200, Collections.emptyMap());
+        limiter.update(503, Collections.emptyMap());
+        Assert.assertFalse(limiter.isActive(), "Las respuestas sin cabeceras de cuota no activan el limitador");
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire();
+        }
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100),
+                "Sin activar, acquire no debe esperar");
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-ratelimit-remaining", "50");
+        headers.put("x-ratelimit-reset", "10");
+        limiter.update(200, headers);
+        Assert.assertTrue(limiter.isActive(), "Las cabeceras X-RateLimit-* activan el limitador");
+        Assert.assertEquals(limiter.rate(), 5.0, 0.001);
+
+        AdaptiveRateLimiter throttled = new AdaptiveRateLimiter(AdaptiveRateLimiter.Mode.AUTO, 10, 1, 2);
+        throttled.update(429, Collections.emptyMap());
+        Assert.assertTrue(throttled.isActive(), "Un 429 activa el limitador");
+
+        AdaptiveRateLimiter off = new AdaptiveRateLimiter(AdaptiveRateLimiter.Mode.OFF, 10, 1, 2);
+        off.update(429, headers);
+        Assert.assertFalse(off.isActive(), "OFF no se activa nunca");
+    }
+
+    @Test
+    public void testRetryPolicy() {
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000);
+        Assert.assertTrue(policy.shouldRetry("POST", 429, 1), "Un 429 se reintenta en cualquier método");
+        Assert.assertFalse(policy.shouldRetry("POST", 503, 1), "POST no es idempotente");
+        Assert.assertTrue(policy.shouldRetry("GET", 503, 2));
+        Assert.assertTrue(policy.shouldRetry("DELETE", -1, 1), "Los errores de red se reintentan en DELETE");
+        Assert.assertFalse(policy.shouldRetry("GET", 503, 3), "No se supera el máximo de intentos");
+        Assert.assertFalse(policy.shouldRetry("GET", 404, 1));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(policy.delayMillis(3, 0) <= 400, "El backoff del tercer intento no supera 400 ms");
+        }
+        Assert.assertEquals(policy.delayMillis(1, 2000), 2000, "Retry-After tiene prioridad si es mayor");
+    }
+}
@@ -0,0 +1,133 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AsyncPostCreateUserTest {
+
+    // Las llamadas se envían con submit: no hace falta un PostCreateUser real
+    private static final APIResponse RESPONSE = new BufferedAPIResponse(200, "OK", "http://localhost/users",
+            Collections.emptyList(), new byte[0]);
+
+    @Test
+    public void testSubmitBlocksWhenPendingLimitReached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncPostCreateUser async = new AsyncPostCreateUser(null, 1, 2)) {
+            CompletableFuture<APIResponse> first = async.submit(() -> await(release));
+            CompletableFuture<APIResponse> second = async.submit(() -> await(release));
+            Assert.assertEquals(async.pending(), 2, "La llamada en ejecución y la encolada cuentan como pendientes");
+
+            AtomicReference<CompletableFuture<APIResponse>> third = new AtomicReference<>();
+            Thread caller = new Thread(() -> third.set(async.submit(() -> RESPONSE)));
+            caller.start();
+            caller.join(200);
+            Assert.assertTrue(caller.isAlive(), "Con el límite alcanzado, submit debe esperar");
+            Assert.assertNull(third.get());
+
+            release.countDown();
+            caller.join(5000);
+            Assert.assertFalse(caller.isAlive(), "Al terminar una llamada, submit debe continuar");
+            Assert.assertSame(third.get().get(5, TimeUnit.SECONDS), RESPONSE);
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFailedCallReleasesPermit() throws Exception {
+        try (AsyncPostCreateUser async = new AsyncPostCreateUser(null, 2, 1)) {
+            CompletableFuture<APIResponse> failed = async.submit(() -> {
+                throw new IOException("boom");
+            });
+            try {
+                failed.get(5, TimeUnit.SECONDS);
+                Assert.fail("La llamada debe terminar con error");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IOException, "Se propaga la IOException: " + e.getCause());
+            }
+            CompletableFuture<APIResponse> unchecked = async.submit(() -> {
+                throw new IllegalStateException("boom");
+            });
+            Assert.assertTrue(unchecked.handle((response, error) -> error).get(5, TimeUnit.SECONDS) != null);
+            // Con un único permiso, esta llamada solo se acepta si los errores lo devolvieron
+            Assert.assertSame(async.submit(() -> RESPONSE).get(5, TimeUnit.SECONDS), RESPONSE);
+            waitForPending(async, 0);
+        }
+    }
+
+    @Test
+    public void testCancelledQueuedCallIsNotExecuted() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        try (AsyncPostCreateUser async = new AsyncPostCreateUser(null, 1, 4)) {
+            CompletableFuture<APIResponse> running = async.submit(() -> await(release));
+            CompletableFuture<APIResponse> queued = async.submit(() -> {
+                executed.incrementAndGet();
+                return RESPONSE;
+            });
+            Assert.assertTrue(queued.cancel(false));
+            Assert.assertEquals(async.pending(), 1, "Cancelar devuelve el hueco de la llamada encolada");
+
+            release.countDown();
+            running.get(5, TimeUnit.SECONDS);
+        }
+        Assert.assertEquals(executed.get(), 0, "Una llamada cancelada en la cola no debe ejecutarse");
+    }
+
+    @Test
+    public void testCloseWaitsForPendingAndRejectsNewCalls() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        AsyncPostCreateUser async = new AsyncPostCreateUser(null, 2, 8);
+        for (int i = 0; i < 4; i++) {
+            async.submit(() -> {
+                await(new CountDownLatch(1), 50);
+                completed.incrementAndGet();
+                return RESPONSE;
+            });
+        }
+        async.close();
+        Assert.assertEquals(completed.get(), 4, "close debe esperar a las llamadas aceptadas");
+        waitForPending(async, 0);
+
+        try {
+            async.submit(() -> RESPONSE);
+            Assert.fail("Un cliente cerrado no acepta llamadas");
+        } catch (RejectedExecutionException expected) {
+            Assert.assertEquals(async.pending(), 0, "El permiso de una llamada rechazada debe devolverse");
+        }
+    }
+
+    private static APIResponse await(CountDownLatch latch) throws IOException {
+        return await(latch, TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private static APIResponse await(CountDownLatch latch, long timeoutMillis) throws IOException {
+        try {
+            latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+            return RESPONSE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    // El permiso se devuelve en whenComplete, justo después de completar el future
+    private static void waitForPending(AsyncPostCreateUser async, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (async.pending() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(async.pending(), expected);
+    }
+}
@@ -0,0 +1,62 @@
+package com.qa.api.test;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CreatedUserRegistryTest {
+
+    @Test
+    public void testCleanupDeletesOnceAndReports() {
+        CreatedUserRegistry registry = new CreatedUserRegistry(4, 3);
+        for (int i = 1; i <= 10; i++) {
+            registry.register(String.valueOf(i));
+        }
+        registry.deregister("10");
+
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        CreatedUserRegistry.Result result = registry.cleanup(userId -> {
+            calls.computeIfAbsent(userId, k -> new AtomicInteger()).incrementAndGet();
+            switch (userId) {
+                case "1":
+                    return 404;
+                case "2":
+                    return 429;
+                case "3":
+                    return 503;
+                case "4":
+                    throw new IllegalStateException("connection reset");
+                default:
+                    return 204;
+            }
+        });
+
+        Assert.assertEquals(result.attempted(), 9, "Solo deben borrarse los usuarios registrados");
+        Assert.assertEquals(result.deleted(), 5);
+        Assert.assertEquals(result.alreadyGone(), 1, "Un 404 cuenta como ya borrado");
+        Assert.assertEquals(result.failed(), 3, "429, 5xx y excepciones cuentan como fallo");
+        for (Map.Entry<String, AtomicInteger> entry : calls.entrySet()) {
+            Assert.assertEquals(entry.getValue().get(), 1,
+                    "El registro no reintenta; los reintentos son de la función de borrado: " + entry.getKey());
+        }
+        List<String> remaining = registry.ids();
+        Collections.sort(remaining);
+        Assert.assertEquals(remaining, Arrays.asList("2", "3", "4"),
+                "Solo deben quedar registrados los usuarios que no se pudieron borrar");
+    }
+
+    @Test
+    public void testMinimumAgeKeepsRecentUsers() {
+        CreatedUserRegistry registry = new CreatedUserRegistry(2, 10);
+        registry.register("recent");
+        CreatedUserRegistry.Result result = registry.cleanup(userId -> 204, 60_000);
+        Assert.assertEquals(result.attempted(), 0, "Los usuarios recientes no deben borrarse");
+        Assert.assertEquals(registry.size(), 1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.model.FieldError;
+import com.qa.api.utils.NegativeCaseGenerator;
+import com.qa.api.utils.NegativeCaseGenerator.NegativeCase;
+import io.qameta.allure.Description;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class GeneratedNegativeTests {
+
+    private PostCreateUser postCreateUser;
+
+    @BeforeClass
+    public void setup() {
+        postCreateUser = new PostCreateUser();
+        System.out.println("=== Iniciando Suite de Tests Negativos Generados ===");
+    }
+
+    // Casos de NegativeCaseGenerator (negative.*), ejecutados en paralelo
+    @DataProvider(name = "negativeCases", parallel = true)
+    public Object[][] negativeCases() {
+        List<NegativeCase> cases = NegativeCaseGenerator.fromConfig().generate();
+        System.out.println("Generated negative cases: " + cases.size());
+        Object[][] data = new Object[cases.size()][];
+        for (int i = 0; i < cases.size(); i++) {
+            data[i] = new Object[] {cases.get(i)};
+        }
+        return data;
+    }
+
+    @Test(dataProvider = "negativeCases")
+    @Description("Verificar que un payload inválido generado falla con 422 en los campos esperados")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreateUserRejectsGeneratedPayload(NegativeCase negativeCase) throws Exception {
+        APIResponse response = postCreateUser.createUserWithPayload(negativeCase.payload());
+
+        Assert.assertEquals(response.status(), 422,
+                "Debe fallar con 422 para [" + negativeCase + "]: " + response.text());
+
+        Set<String> errorFields = new TreeSet<>();
+        for (FieldError error : postCreateUser.readFieldErrors(response)) {
+            errorFields.add(error.getField());
+        }
+        Assert.assertTrue(errorFields.containsAll(negativeCase.invalidFields()),
+                "Los errores " + errorFields + " deben incluir " + negativeCase.invalidFields()
+                        + " para [" + negativeCase + "]");
+    }
+}
@@ -0,0 +1,87 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.metrics.ConnectionStats;
+import com.qa.api.mock.MockUsersServer;
+import com.qa.api.utils.UserStreamParser;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class JdkHttpTransportTest {
+
+    private static final String TOKEN = "Bearer test-token";
+
+    private MockUsersServer server;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        server = new MockUsersServer(0, TOKEN);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testSendReturnsBufferedResponse() throws Exception {
+        try (HttpTransport transport = HttpTransport.create("jdk", settings(true, false))) {
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Content-Type", "application/json");
+            headers.put("Authorization", TOKEN);
+            byte[] body = "{\"name\":\"Ana\",\"email\":\"ana.jdk@example.com\",\"gender\":\"female\",\"status\":\"active\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+            APIResponse created = transport.send("POST", server.usersUrl(), headers, body);
+            Assert.assertEquals(created.status(), 201, "El usuario debe crearse con el transporte JDK");
+            Assert.assertTrue(created instanceof BufferedAPIResponse, "La respuesta debe llegar ya leída");
+            Assert.assertTrue(created.headers().containsKey("content-type"), "Las cabeceras van en minúsculas");
+
+            String id = UserStreamParser.readId(created.body());
+            APIResponse fetched = transport.send("GET", server.usersUrl() + "/" + id, headers, null);
+            Assert.assertEquals(fetched.status(), 200);
+            Assert.assertTrue(fetched.text().contains("ana.jdk@example.com"), fetched.text());
+
+            APIResponse unauthorized = transport.send("POST", server.usersUrl(), Collections.emptyMap(), body);
+            Assert.assertEquals(unauthorized.status(), 401, "Sin token la API debe responder 401");
+        }
+    }
+
+    @Test
+    public void testSequentialRequestsReuseOneConnection() {
+        // Estadísticas propias: la suite ejecuta otros tests en paralelo sobre las globales
+        ConnectionStats connections = new ConnectionStats();
+        try (HttpTransport transport = new JdkHttpTransport(settings(true, false), connections)) {
+            for (int i = 0; i < 5; i++) {
+                Assert.assertEquals(transport.send("GET", server.usersUrl(), Collections.emptyMap(), null).status(), 200);
+            }
+        }
+        ConnectionStats.Snapshot snapshot = connections.snapshot();
+        Assert.assertEquals(snapshot.requests(), 5);
+        Assert.assertEquals(snapshot.newConnections(), 1, "Cinco requests seguidas deben compartir una conexión");
+    }
+
+    @Test(expectedExceptions = TransportException.class)
+    public void testConnectionRefused() {
+        try (HttpTransport transport = HttpTransport.create("jdk", settings(true, false))) {
+            transport.send("GET", "http://127.0.0.1:1/public/v2/users", Collections.emptyMap(), null);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testUnknownEngine() {
+        HttpTransport.create("curl", settings(true, false));
+    }
+
+    private static TransportSettings settings(boolean keepAlive, boolean http2) {
+        return new TransportSettings(4, keepAlive, 30, http2, 5000, 5000);
+    }
+}
@@ -0,0 +1,50 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.qa.api.sla.LatencyCheck;
+import com.qa.api.sla.LatencyResult;
+import com.qa.api.sla.LatencySla;
+import io.qameta.allure.Description;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class LatencySlaTests {
+
+    private PostCreateUser postCreateUser;
+
+    @BeforeClass
+    public void setup() {
+        postCreateUser = new PostCreateUser();
+        System.out.println("=== Iniciando Suite de Tests de Latencia ===");
+    }
+
+    @Test(priority = 1)
+    @Description("Verificar que el p95 de GET /users está por debajo de 300 ms")
+    @Severity(SeverityLevel.NORMAL)
+    @LatencySla(iterations = 30, warmup = 3, concurrency = 4, percentile = 95, maxMillis = 300)
+    public void testGetUsersLatency() throws Exception {
+        APIResponse response = postCreateUser.getUsers();
+        Assert.assertEquals(response.status(), 200, "El código de estado debe ser 200 (OK)");
+    }
+
+    @Test(priority = 2)
+    @Description("Verificar que las páginas posteriores no son más lentas que la primera")
+    @Severity(SeverityLevel.MINOR)
+    public void testPaginationDoesNotSlowDown() {
+        LatencyResult firstPage = LatencyCheck.of("page 1").warmup(2).iterations(10)
+                .run(() -> assertOk(postCreateUser.getUsersWithPagination(1, 20)));
+        LatencyResult laterPage = LatencyCheck.of("page 50").warmup(2).iterations(10)
+                .run(() -> assertOk(postCreateUser.getUsersWithPagination(50, 20)));
+        System.out.println(firstPage);
+        System.out.println(laterPage);
+
+        LatencyCheck.assertNotSlower(firstPage, laterPage, 90, 1.5, 50);
+    }
+
+    private static void assertOk(APIResponse response) {
+        Assert.assertEquals(response.status(), 200, "El código de estado debe ser 200 (OK)");
+    }
+}
@@ -3,6 +3,9 @@ package com.qa.api.test;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.APIResponse;
+import com.qa.api.model.FieldError;
+import com.qa.api.utils.JsonSupport;
+import com.qa.api.utils.TestDataGenerator;
 import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
@@ -11,6 +14,8 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 public class NegativeTests {
 
     private PostCreateUser postCreateUser;
@@ -19,7 +24,7 @@ public class NegativeTests {
     @BeforeClass
     public void setup() {
         postCreateUser = new PostCreateUser();
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonSupport.mapper();
         System.out.println("=== Iniciando Suite de Tests Negativos ===");
     }
 
@@ -36,7 +41,7 @@ public class NegativeTests {
 
         APIResponse response = postCreateUser.createUserWithoutAuth(
                 "Test User",
-                "test" + System.currentTimeMillis() + "@example.com",
+                TestDataGenerator.shared().uniqueEmail("test"),
                 "male",
                 "active");
 
@@ -56,7 +61,7 @@ public class NegativeTests {
         System.out.println("\n--- Test Negativo: Email Duplicado ---");
 
         // Crear primer usuario
-        String uniqueEmail = "duplicate" + System.currentTimeMillis() + "@example.com";
+        String uniqueEmail = TestDataGenerator.shared().uniqueEmail("duplicate");
         APIResponse firstResponse = postCreateUser.createUserWithData(
                 "First User",
                 uniqueEmail,
@@ -188,7 +193,7 @@ public class NegativeTests {
 
         APIResponse response = postCreateUser.createUserWithData(
                 "Test User",
-                "test" + System.currentTimeMillis() + "@example.com",
+                TestDataGenerator.shared().uniqueEmail("test"),
                 "invalid_gender", // Género inválido
                 "active");
 
@@ -209,7 +214,7 @@ public class NegativeTests {
 
         APIResponse response = postCreateUser.createUserWithData(
                 "Test User",
-                "test" + System.currentTimeMillis() + "@example.com",
+                TestDataGenerator.shared().uniqueEmail("test"),
                 "male",
                 "invalid_status" // Status inválido
         );
@@ -230,8 +235,8 @@ public class NegativeTests {
         System.out.println("\n--- Test Negativo: Actualizar con Email Duplicado ---");
 
         // Crear dos usuarios
-        String email1 = "user1_" + System.currentTimeMillis() + "@example.com";
-        String email2 = "user2_" + System.currentTimeMillis() + "@example.com";
+        String email1 = TestDataGenerator.shared().uniqueEmail("user1");
+        String email2 = TestDataGenerator.shared().uniqueEmail("user2");
 
         APIResponse user1Response = postCreateUser.createUserWithData("User 1", email1, "male", "active");
         APIResponse user2Response = postCreateUser.createUserWithData("User 2", email2, "female", "active");
@@ -247,6 +252,10 @@ public class NegativeTests {
         Assert.assertEquals(updateResponse.status(), 422,
                 "Debe fallar con 422 cuando se intenta actualizar con un email duplicado");
 
+        List<FieldError> errors = postCreateUser.readFieldErrors(updateResponse);
+        Assert.assertTrue(errors.stream().anyMatch(error -> "email".equals(error.getField())),
+                "El error de validación debe referirse al campo 'email'");
+
         System.out.println("Test pasado: La API previene actualizaciones con emails duplicados");
     }
 }
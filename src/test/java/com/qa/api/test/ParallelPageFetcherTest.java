@@ -0,0 +1,160 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+import com.qa.api.model.User;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ParallelPageFetcherTest {
+
+    private static final int TOTAL_USERS = 95;
+
+    @Test
+    public void testReturnsAllUsersInOrderWithBoundedWindow() {
+        FakeSource source = new FakeSource(true);
+        try {
+            ParallelPageFetcher fetcher = new ParallelPageFetcher(source, 10, 3);
+            List<Long> ids;
+            try (Stream<User> users = fetcher.stream()) {
+                ids = users.map(User::getId).collect(Collectors.toList());
+            }
+            Assert.assertEquals(ids.size(), TOTAL_USERS, "Deben leerse todos los usuarios");
+            for (int i = 0; i < ids.size(); i++) {
+                Assert.assertEquals(ids.get(i).longValue(), i + 1L, "Los usuarios deben llegar en orden");
+            }
+            Assert.assertEquals(source.requests.get(), 10, "Debe pedirse cada página una sola vez");
+            Assert.assertTrue(source.maxInFlight.get() <= 3, "No debe superarse la ventana: " + source.maxInFlight);
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void testEarlyTerminationStopsRequestingPages() {
+        FakeSource source = new FakeSource(true);
+        try {
+            ParallelPageFetcher.PageIterator iterator = new ParallelPageFetcher(source, 10, 2).iterator();
+            Assert.assertEquals(iterator.totalPages(), 10);
+            Assert.assertEquals(iterator.totalCount(), TOTAL_USERS);
+            for (int i = 0; i < 15; i++) {
+                iterator.next();
+            }
+            iterator.close();
+            Assert.assertFalse(iterator.hasNext(), "Un iterador cerrado no devuelve más usuarios");
+            Assert.assertTrue(source.requests.get() <= 4, "Solo deben pedirse las páginas de la ventana");
+        } finally {
+            source.close();
+        }
+    }
+
+    @Test
+    public void testCloseCancelsSourceRequests() {
+        List<CompletableFuture<APIResponse>> requests = new ArrayList<>();
+        FakeSource pages = new FakeSource(true);
+        try {
+            // La primera página se sirve; las siguientes quedan sin completar, como si esperaran en la cola
+            ParallelPageFetcher.PageIterator iterator = new ParallelPageFetcher((page, perPage) -> {
+                if (page == 1) {
+                    return CompletableFuture.completedFuture(pages.page(page, perPage));
+                }
+                CompletableFuture<APIResponse> request = new CompletableFuture<>();
+                requests.add(request);
+                return request;
+            }, 10, 3).iterator();
+            Assert.assertEquals(requests.size(), 3, "Debe haber una ventana de páginas pedidas");
+            iterator.close();
+            for (CompletableFuture<APIResponse> request : requests) {
+                Assert.assertTrue(request.isCancelled(), "close debe cancelar la request del origen, no solo su lectura");
+            }
+            Assert.assertFalse(iterator.hasNext());
+        } finally {
+            pages.close();
+        }
+    }
+
+    @Test
+    public void testWithoutPaginationHeadersReadsUntilShortPage() {
+        FakeSource source = new FakeSource(false);
+        try {
+            List<User> users = new ArrayList<>();
+            new ParallelPageFetcher(source, 10, 4).iterator().forEachRemaining(users::add);
+            Assert.assertEquals(users.size(), TOTAL_USERS);
+            Assert.assertEquals(source.requests.get(), 10, "Debe pararse en la primera página incompleta");
+        } finally {
+            source.close();
+        }
+    }
+
+    // Simula GET /users con latencia aleatoria para que las páginas terminen desordenadas
+    private static final class FakeSource implements ParallelPageFetcher.PageSource {
+        private final boolean headers;
+        private final ExecutorService executor = Executors.newFixedThreadPool(8);
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private FakeSource(boolean headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public CompletableFuture<APIResponse> fetch(int page, int perPage) {
+            requests.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(1, 10));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return page(page, perPage);
+            }, executor);
+        }
+
+        private APIResponse page(int page, int perPage) {
+            StringBuilder body = new StringBuilder("[");
+            int from = (page - 1) * perPage + 1;
+            for (int id = from; id < from + perPage && id <= TOTAL_USERS; id++) {
+                if (id > from) {
+                    body.append(',');
+                }
+                body.append("{\"id\":").append(id).append(",\"name\":\"U").append(id)
+                        .append("\",\"email\":\"u").append(id).append("@example.com\",\"gender\":\"male\",")
+                        .append("\"status\":\"active\"}");
+            }
+            body.append(']');
+            List<HttpHeader> responseHeaders = new ArrayList<>();
+            if (headers) {
+                responseHeaders.add(header("X-Pagination-Total", String.valueOf(TOTAL_USERS)));
+                responseHeaders.add(header("X-Pagination-Pages",
+                        String.valueOf((TOTAL_USERS + perPage - 1) / perPage)));
+            }
+            return new BufferedAPIResponse(200, "OK", "http://localhost/users?page=" + page, responseHeaders,
+                    body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static HttpHeader header(String name, String value) {
+            HttpHeader header = new HttpHeader();
+            header.name = name;
+            header.value = value;
+            return header;
+        }
+
+        private void close() {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.qa.api.test;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.APIResponse;
+import com.qa.api.model.User;
+import com.qa.api.utils.JsonSupport;
+import com.qa.api.utils.TestDataGenerator;
+import com.qa.api.utils.UserStreamParser;
 import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
@@ -11,15 +15,23 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 public class PostCreateUserTest {
 
+    private static final int PARALLEL_PAGE_SIZE = 10;
+
     private PostCreateUser postCreateUser;
     private ObjectMapper objectMapper;
 
     @BeforeClass
     public void setup() {
         postCreateUser = new PostCreateUser();
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonSupport.mapper();
         System.out.println("=== Iniciando Suite de Tests Positivos ===");
     }
 
@@ -57,7 +69,8 @@ public class PostCreateUserTest {
         System.out.println("Usuario creado exitosamente con ID: " + userId);
     }
 
-    @Test(priority = 2)
+    // Con la API simulada (vacía al arrancar) la lista solo tiene usuarios tras testCreateUser
+    @Test(priority = 2, dependsOnMethods = "testCreateUser")
     @Description("Verificar que se puede obtener la lista de usuarios")
     @Severity(SeverityLevel.NORMAL)
     public void testGetUsers() throws Exception {
@@ -74,12 +87,12 @@ public class PostCreateUserTest {
         Assert.assertNotNull(responseBody, "La lista de usuarios no debe ser nula");
         Assert.assertFalse(responseBody.isEmpty(), "La lista de usuarios no debe estar vacía");
 
-        // Parsear y verificar que es un array
-        JsonNode jsonResponse = objectMapper.readTree(responseBody);
-        Assert.assertTrue(jsonResponse.isArray(), "La respuesta debe ser un array de usuarios");
-        Assert.assertTrue(jsonResponse.size() > 0, "El array debe contener al menos un usuario");
+        // Leer el array en streaming validando id, email y status de cada usuario
+        UserStreamParser.Result users = UserStreamParser.parseUsers(response.body(), user -> true);
+        Assert.assertTrue(users.count() > 0, "El array debe contener al menos un usuario");
+        Assert.assertEquals(users.invalid(), 0, "Todos los usuarios deben ser válidos: " + users.errors());
 
-        System.out.println("Lista de usuarios obtenida exitosamente. Total: " + jsonResponse.size());
+        System.out.println("Lista de usuarios obtenida exitosamente. Total: " + users.count());
     }
 
     @Test(priority = 3)
@@ -132,15 +145,15 @@ public class PostCreateUserTest {
 
         // Actualizar el usuario
         String newName = "Updated User";
-        String newEmail = "updated" + System.currentTimeMillis() + "@example.com";
+        String newEmail = TestDataGenerator.shared().uniqueEmail("updated");
         APIResponse updateResponse = postCreateUser.updateUser(userId, newName, newEmail);
 
         // Verificar la actualización
         Assert.assertEquals(updateResponse.status(), 200, "El código de estado debe ser 200 (OK)");
 
-        JsonNode updatedUser = objectMapper.readTree(updateResponse.text());
-        Assert.assertEquals(updatedUser.get("name").asText(), newName, "El nombre debe estar actualizado");
-        Assert.assertEquals(updatedUser.get("email").asText(), newEmail, "El email debe estar actualizado");
+        User updatedUser = postCreateUser.readUser(updateResponse);
+        Assert.assertEquals(updatedUser.getName(), newName, "El nombre debe estar actualizado");
+        Assert.assertEquals(updatedUser.getEmail(), newEmail, "El email debe estar actualizado");
 
         System.out.println("Usuario actualizado exitosamente");
     }
@@ -178,10 +191,47 @@ public class PostCreateUserTest {
 
         Assert.assertEquals(response.status(), 200, "El código de estado debe ser 200");
 
-        JsonNode users = objectMapper.readTree(response.text());
-        Assert.assertTrue(users.isArray(), "La respuesta debe ser un array");
-        Assert.assertTrue(users.size() <= 5, "Debe retornar máximo 5 usuarios");
+        UserStreamParser.Result users = UserStreamParser.parseUsers(response.body(), user -> true);
+        Assert.assertTrue(users.count() <= 5, "Debe retornar máximo 5 usuarios");
+        Assert.assertEquals(users.invalid(), 0, "Todos los usuarios deben ser válidos: " + users.errors());
 
-        System.out.println("Paginación funciona correctamente. Usuarios en página 1: " + users.size());
+        System.out.println("Paginación funciona correctamente. Usuarios en página 1: " + users.count());
+    }
+
+    @Test(priority = 7)
+    @Description("Verificar que el listado paralelo recorre varias páginas y devuelve usuarios válidos")
+    @Severity(SeverityLevel.MINOR)
+    public void testListUsersInParallel() {
+        System.out.println("\n--- Test: Listado Paralelo de Usuarios ---");
+
+        Set<Long> ids = new HashSet<>();
+        int read = 0;
+        try (AsyncPostCreateUser async = new AsyncPostCreateUser()) {
+            // Se crean usuarios suficientes para que el listado tenga al menos tres páginas
+            List<CompletableFuture<APIResponse>> created = new ArrayList<>();
+            for (int i = 0; i < 3 * PARALLEL_PAGE_SIZE; i++) {
+                created.add(async.postCreateUserApi());
+            }
+            for (CompletableFuture<APIResponse> response : created) {
+                Assert.assertEquals(response.join().status(), 201, "Los usuarios de partida deben crearse");
+            }
+
+            ParallelPageFetcher.PageIterator users = async.allUsers(PARALLEL_PAGE_SIZE, 4).iterator();
+            try (users) {
+                // Se corta tras 100 usuarios: cerrar el iterador cancela las páginas pendientes
+                while (read < 100 && users.hasNext()) {
+                    User user = users.next();
+                    Assert.assertNotNull(user.getId(), "Cada usuario debe tener ID");
+                    read++;
+                    ids.add(user.getId());
+                }
+            }
+
+            Assert.assertTrue(users.totalPages() >= 3, "El listado debe tener varias páginas: " + users.totalPages());
+            Assert.assertTrue(users.pagesRead() >= 3, "Deben leerse usuarios de varias páginas: " + users.pagesRead());
+            Assert.assertTrue(read > 2 * PARALLEL_PAGE_SIZE, "Deben leerse más de dos páginas de usuarios: " + read);
+        }
+        // En un tenant con escrituras concurrentes un usuario puede desplazarse de página y repetirse
+        System.out.println("Usuarios leídos en paralelo: " + read + " (" + ids.size() + " distintos)");
     }
 }
@@ -0,0 +1,70 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+public class ReplayStoreTest {
+
+    private static final String URL = "https://gorest.co.in/public/v2/users";
+
+    @Test
+    public void testRecordThenReplay() throws Exception {
+        Path directory = Files.createTempDirectory("replay");
+        byte[] body = "{\"name\":\"Ana\",\"email\":\"ana@example.com\"}".getBytes(StandardCharsets.UTF_8);
+
+        try (ReplayStore store = new ReplayStore(ReplayStore.Mode.RECORD, directory)) {
+            store.record("POST", URL, body, true, response(201, "{\"id\":1}"));
+            store.record("GET", URL + "/1", null, true, response(200, "{\"id\":1}"));
+            store.record("DELETE", URL + "/1", null, true, response(204, ""));
+            store.record("GET", URL + "/1", null, true, response(404, "{\"message\":\"Resource not found\"}"));
+        }
+
+        try (ReplayStore store = new ReplayStore(ReplayStore.Mode.REPLAY, directory)) {
+            byte[] reordered = "{\"email\":\"ana@example.com\",\"name\":\"Ana\"}".getBytes(StandardCharsets.UTF_8);
+            APIResponse created = store.replay("post", "http://127.0.0.1:8080/public/v2/users", reordered, true);
+            Assert.assertEquals(created.status(), 201, "El host y el orden de las claves no deben afectar a la clave");
+            Assert.assertEquals(created.headers().get("content-type"), "application/json");
+
+            Assert.assertEquals(store.replay("GET", URL + "/1", null, true).status(), 200,
+                    "La primera lectura debe devolver la primera respuesta grabada");
+            Assert.assertEquals(store.replay("DELETE", URL + "/1", null, true).status(), 204);
+            Assert.assertEquals(store.replay("GET", URL + "/1", null, true).status(), 404,
+                    "La segunda lectura debe devolver la segunda respuesta grabada");
+        }
+    }
+
+    @Test
+    public void testKeyNormalisesQueryAndAuthentication() {
+        Assert.assertEquals(ReplayStore.key("GET", URL + "?per_page=5&page=2", null, true),
+                ReplayStore.key("GET", URL + "?page=2&per_page=5", null, true),
+                "El orden de los parámetros no debe cambiar la clave");
+        Assert.assertNotEquals(ReplayStore.key("POST", URL, new byte[] {'{', '}'}, true),
+                ReplayStore.key("POST", URL, new byte[] {'{', '}'}, false),
+                "Con y sin token deben ser claves distintas");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testReplayMissFails() throws Exception {
+        Path directory = Files.createTempDirectory("replay");
+        new ReplayStore(ReplayStore.Mode.RECORD, directory).close();
+        try (ReplayStore store = new ReplayStore(ReplayStore.Mode.REPLAY, directory)) {
+            store.replay("GET", URL, null, true);
+        }
+    }
+
+    private static APIResponse response(int status, String body) {
+        HttpHeader header = new HttpHeader();
+        header.name = "Content-Type";
+        header.value = "application/json";
+        List<HttpHeader> headers = Collections.singletonList(header);
+        return new BufferedAPIResponse(status, "", URL, headers, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
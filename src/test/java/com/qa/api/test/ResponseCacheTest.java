@@ -0,0 +1,156 @@
+package com.qa.api.test;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.options.HttpHeader;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResponseCacheTest {
+
+    private static final String USERS = "http://localhost/public/v2/users";
+
+    @Test
+    public void testRevalidatesWithEtag() {
+        ResponseCache cache = new ResponseCache(true, 10, 1024, 0);
+        List<Map<String, String>> sent = new ArrayList<>();
+
+        APIResponse first = cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            sent.add(headers);
+            return response(200, "\"v1\"", "{\"id\":1}");
+        });
+        APIResponse second = cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            sent.add(headers);
+            return response(304, "\"v1\"", "");
+        });
+
+        Assert.assertFalse(sent.get(0).containsKey("If-None-Match"), "La primera request no es condicional");
+        Assert.assertEquals(sent.get(1).get("If-None-Match"), "\"v1\"", "La segunda debe enviar el ETag guardado");
+        Assert.assertSame(second, first, "Un 304 debe devolver la respuesta guardada");
+        Assert.assertEquals(second.status(), 200);
+
+        ResponseCache.Stats stats = cache.stats();
+        Assert.assertEquals(stats.misses(), 1);
+        Assert.assertEquals(stats.notModified(), 1);
+        Assert.assertEquals(stats.notModifiedRate(), 1.0);
+        Assert.assertEquals(stats.bytesSaved(), 8, "El body del 304 no se vuelve a descargar");
+    }
+
+    @Test
+    public void testChangedResponseReplacesEntry() {
+        ResponseCache cache = new ResponseCache(true, 10, 1024, 0);
+        cache.get(USERS, new HashMap<>(), headers -> response(200, "\"v1\"", "[1]"));
+        APIResponse changed = cache.get(USERS, new HashMap<>(), headers -> response(200, "\"v2\"", "[1,2]"));
+        Map<String, String> revalidation = new HashMap<>();
+        cache.get(USERS, revalidation, headers -> response(304, null, ""));
+
+        Assert.assertEquals(revalidation.get("If-None-Match"), "\"v2\"", "Debe revalidar con el ETag nuevo");
+        Assert.assertEquals(cache.stats().changed(), 1);
+        Assert.assertEquals(changed.text(), "[1,2]");
+    }
+
+    @Test
+    public void testFreshEntriesSkipTheNetwork() {
+        ResponseCache cache = new ResponseCache(true, 10, 1024, 60_000);
+        cache.get(USERS + "/1", new HashMap<>(), headers -> response(200, null, "{}"));
+        cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            throw new AssertionError("Una entrada fresca no debe pedirse de nuevo");
+        });
+        Assert.assertEquals(cache.stats().hits(), 1);
+        Assert.assertEquals(cache.stats().hitRate(), 0.5);
+    }
+
+    @Test
+    public void testWritesInvalidateResourceAndLists() {
+        ResponseCache cache = new ResponseCache(true, 10, 1024, 60_000);
+        cache.get(USERS + "/1", new HashMap<>(), headers -> response(200, null, "{}"));
+        cache.get(USERS + "/2", new HashMap<>(), headers -> response(200, null, "{}"));
+        cache.get(USERS + "?page=1&per_page=5", new HashMap<>(), headers -> response(200, null, "[]"));
+        cache.get(USERS, new HashMap<>(), headers -> response(200, null, "[]"));
+
+        cache.invalidate(USERS + "/1", USERS);
+
+        Assert.assertEquals(cache.stats().entries(), 1, "Solo debe quedar el usuario 2");
+        cache.get(USERS + "/2", new HashMap<>(), headers -> {
+            throw new AssertionError("El usuario 2 no debe invalidarse");
+        });
+    }
+
+    @Test
+    public void testInvalidationDuringFetchDiscardsResponse() {
+        ResponseCache cache = new ResponseCache(true, 10, 1024, 60_000);
+        // Una escritura sobre el usuario 1 llega mientras los GET están en vuelo
+        cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            cache.invalidate(USERS + "/1");
+            return response(200, null, "{\"name\":\"old\"}");
+        });
+        cache.get(USERS + "?page=1", new HashMap<>(), headers -> {
+            cache.invalidate(USERS + "/1", USERS);
+            return response(200, null, "[]");
+        });
+        Assert.assertEquals(cache.stats().entries(), 0, "Las respuestas anteriores a la escritura no se guardan");
+
+        List<String> fetched = new ArrayList<>();
+        cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            fetched.add("user");
+            return response(200, null, "{\"name\":\"new\"}");
+        });
+        cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            throw new AssertionError("Sin invalidación en vuelo la respuesta debe guardarse");
+        });
+        Assert.assertEquals(fetched, Collections.singletonList("user"), "El siguiente GET debe ir a la red");
+    }
+
+    @Test
+    public void testRevalidationDuringInvalidationDoesNotResurrectEntry() {
+        ResponseCache cache = new ResponseCache(true, 10, 1024, 0);
+        cache.get(USERS + "/1", new HashMap<>(), headers -> response(200, "\"v1\"", "{}"));
+        cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            cache.invalidate(USERS + "/1", USERS);
+            return response(304, "\"v1\"", "");
+        });
+        Map<String, String> next = new HashMap<>();
+        cache.get(USERS + "/1", next, headers -> response(200, "\"v2\"", "{}"));
+        Assert.assertFalse(next.containsKey("If-None-Match"),
+                "Tras invalidar, el 304 en vuelo no debe restaurar la entrada");
+    }
+
+    @Test
+    public void testLruEvictionByEntriesAndBytes() {
+        ResponseCache cache = new ResponseCache(true, 2, 10, 60_000);
+        cache.get(USERS + "/1", new HashMap<>(), headers -> response(200, null, "aaaa"));
+        cache.get(USERS + "/2", new HashMap<>(), headers -> response(200, null, "bbbb"));
+        // Acceder al 1 lo convierte en el más reciente: el expulsado debe ser el 2
+        cache.get(USERS + "/1", new HashMap<>(), headers -> response(200, null, "aaaa"));
+        cache.get(USERS + "/3", new HashMap<>(), headers -> response(200, null, "cccc"));
+
+        Assert.assertEquals(cache.stats().entries(), 2);
+        Assert.assertEquals(cache.stats().evictions(), 1);
+        cache.get(USERS + "/1", new HashMap<>(), headers -> {
+            throw new AssertionError("El usuario 1 debe seguir en caché");
+        });
+
+        cache.get(USERS + "/4", new HashMap<>(), headers -> response(200, null, "dddddddd"));
+        Assert.assertTrue(cache.stats().bytes() <= 10, "El límite de bytes debe respetarse: " + cache.stats());
+        cache.get(USERS + "/big", new HashMap<>(), headers -> response(200, null, "way too large for the cache"));
+        Assert.assertTrue(cache.stats().bytes() <= 10, "Una respuesta mayor que el límite no se guarda");
+    }
+
+    private static APIResponse response(int status, String etag, String body) {
+        List<HttpHeader> headers = new ArrayList<>();
+        if (etag != null) {
+            HttpHeader header = new HttpHeader();
+            header.name = "ETag";
+            header.value = etag;
+            headers.add(header);
+        }
+        return new BufferedAPIResponse(status, "", USERS, headers.isEmpty() ? Collections.emptyList() : headers,
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
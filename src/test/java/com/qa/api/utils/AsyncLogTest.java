@@ -0,0 +1,157 @@
+package com.qa.api.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncLogTest {
+
+    @Test
+    public void testEventsAreWrittenInBatches() throws InterruptedException {
+        BlockingOutput output = new BlockingOutput();
+        AsyncLog.Writer writer = new AsyncLog.Writer(AsyncLog.Level.FULL, 100, 1.0, 1024, output.stream);
+        // El primer evento bloquea al escritor; los siguientes se acumulan en la cola
+        writer.info("first", null);
+        Assert.assertTrue(output.blocked.await(5, TimeUnit.SECONDS), "El escritor debe empezar a escribir");
+        for (int i = 0; i < 100; i++) {
+            writer.info("line ", i);
+        }
+        output.release.countDown();
+        writer.flush();
+
+        Assert.assertEquals(output.text().split("\n").length, 101, "Deben escribirse todas las líneas");
+        Assert.assertTrue(output.prints.get() <= 3, "Las 100 líneas encoladas deben escribirse en un lote: "
+                + output.prints.get() + " escrituras");
+        Assert.assertEquals(writer.dropped(), 0);
+    }
+
+    @Test
+    public void testFullBufferDropsWithoutBlocking() throws InterruptedException {
+        BlockingOutput output = new BlockingOutput();
+        AsyncLog.Writer writer = new AsyncLog.Writer(AsyncLog.Level.FULL, 100, 1.0, 4, output.stream);
+        writer.info("first", null);
+        Assert.assertTrue(output.blocked.await(5, TimeUnit.SECONDS));
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            writer.info("line ", i);
+        }
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "El llamador no debe bloquearse");
+        Assert.assertEquals(writer.dropped(), 16, "Con 4 huecos se descartan 16 de 20 eventos");
+        output.release.countDown();
+        writer.flush();
+        Assert.assertTrue(output.text().contains("line 3\n"));
+        Assert.assertFalse(output.text().contains("line 4\n"), "Los eventos descartados no se escriben");
+    }
+
+    @Test
+    public void testFlushWritesEverythingEnqueuedBefore() {
+        BlockingOutput output = new BlockingOutput();
+        output.release.countDown();
+        AsyncLog.Writer writer = new AsyncLog.Writer(AsyncLog.Level.FULL, 100, 1.0, 1024, output.stream);
+        for (int i = 0; i < 50; i++) {
+            writer.info("before ", i);
+        }
+        writer.flush();
+        String afterFlush = output.text();
+        Assert.assertTrue(afterFlush.endsWith("before 49\n"), "flush debe volver con todo escrito y en orden");
+        for (int i = 0; i < 50; i++) {
+            Assert.assertTrue(afterFlush.contains("before " + i + "\n"));
+        }
+        writer.info("after", null);
+        writer.flush();
+        Assert.assertTrue(output.text().startsWith(afterFlush) && output.text().endsWith("after\n"),
+                "Los eventos posteriores se escriben detrás");
+    }
+
+    @Test
+    public void testSamplingAndLevels() {
+        BlockingOutput output = new BlockingOutput();
+        output.release.countDown();
+        AsyncLog.Writer none = new AsyncLog.Writer(AsyncLog.Level.FULL, 100, 0.0, 1024, output.stream);
+        none.info("sampled out", null);
+        none.body("body: ", bytes("{}"));
+        none.summary("summary", null);
+        none.flush();
+        Assert.assertEquals(output.text(), "summary\n", "Con muestreo 0 solo se escriben los resúmenes");
+
+        BlockingOutput halfOutput = new BlockingOutput();
+        halfOutput.release.countDown();
+        AsyncLog.Writer half = new AsyncLog.Writer(AsyncLog.Level.FULL, 100, 0.5, 8192, halfOutput.stream);
+        for (int i = 0; i < 4000; i++) {
+            half.info("x", null);
+        }
+        half.flush();
+        int lines = halfOutput.text().split("\n").length;
+        Assert.assertTrue(lines > 1600 && lines < 2400, "Con muestreo 0.5 se escribe la mitad: " + lines);
+
+        BlockingOutput summaryOutput = new BlockingOutput();
+        summaryOutput.release.countDown();
+        AsyncLog.Writer summary = new AsyncLog.Writer(AsyncLog.Level.SUMMARY, 100, 1.0, 1024, summaryOutput.stream);
+        summary.body("body: ", bytes("{}"));
+        summary.info("info", null);
+        summary.flush();
+        Assert.assertEquals(summaryOutput.text(), "info\n", "SUMMARY no escribe bodies");
+
+        BlockingOutput offOutput = new BlockingOutput();
+        offOutput.release.countDown();
+        AsyncLog.Writer off = new AsyncLog.Writer(AsyncLog.Level.OFF, 100, 1.0, 1024, offOutput.stream);
+        off.info("info", null);
+        off.summary("summary", null);
+        off.flush();
+        Assert.assertEquals(offOutput.text(), "", "OFF no escribe nada");
+    }
+
+    @Test
+    public void testBodyTruncation() {
+        BlockingOutput output = new BlockingOutput();
+        output.release.countDown();
+        AsyncLog.Writer writer = new AsyncLog.Writer(AsyncLog.Level.FULL, 10, 1.0, 1024, output.stream);
+        writer.body("short: ", bytes("0123456789"));
+        writer.body("long: ", bytes("0123456789abcdefghijklmno"));
+        writer.body("empty: ", null);
+        writer.flush();
+        Assert.assertEquals(output.text(), "short: 0123456789\n"
+                + "long: 0123456789... [truncated, 25 bytes]\n"
+                + "empty: <empty>\n");
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Salida en memoria que cuenta las escrituras; la primera espera a release
+    private static final class BlockingOutput {
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger prints = new AtomicInteger();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final PrintStream stream = new PrintStream(bytes, true) {
+            @Override
+            public void print(String text) {
+                prints.incrementAndGet();
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.print(text);
+            }
+
+            @Override
+            public void print(Object text) {
+                print(String.valueOf(text));
+            }
+        };
+
+        private synchronized String text() {
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
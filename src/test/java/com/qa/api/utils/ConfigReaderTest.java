@@ -0,0 +1,72 @@
+package com.qa.api.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class ConfigReaderTest {
+
+    @Test
+    public void testLoadsConfigurationFromClasspath() {
+        Assert.assertNotNull(ConfigReader.getBaseUrl(), "api.base.url debe leerse de config.properties");
+        Assert.assertTrue(ConfigReader.getTimeout() > 0, "api.timeout debe ser un entero positivo");
+    }
+
+    @Test
+    public void testSystemPropertyOverridesFile() {
+        System.setProperty("config.test.override", "42");
+        try {
+            Assert.assertEquals(ConfigReader.getInt("config.test.override", 0), 42,
+                    "La propiedad de sistema debe tener prioridad");
+            Assert.assertEquals(ConfigReader.getLong("config.test.override", 0L), 42L,
+                    "La misma clave debe poder leerse con otro tipo");
+        } finally {
+            System.clearProperty("config.test.override");
+        }
+    }
+
+    @Test
+    public void testMissingAndBlankKeysUseDefault() {
+        Assert.assertEquals(ConfigReader.getInt("config.test.missing", 7), 7, "Debe usarse el valor por defecto");
+        Assert.assertEquals(ConfigReader.getProperty("data.seed", "none"), "none",
+                "Una clave vacía en el fichero cuenta como ausente");
+    }
+
+    @Test
+    public void testEnvironmentNameMapping() {
+        Assert.assertEquals(ConfigReader.toEnvironmentName("api.auth.token"), "API_AUTH_TOKEN");
+        Assert.assertEquals(ConfigReader.toEnvironmentName("api.pool.lease-timeout"), "API_POOL_LEASE_TIMEOUT");
+    }
+
+    @Test(singleThreaded = true)
+    public void testWatchesSourceFileAndReloadsConfigFile() throws Exception {
+        Path source = Paths.get("src/test/resources/config.properties");
+        Assert.assertEquals(ConfigReader.getWatchedFile().toAbsolutePath(), source.toAbsolutePath(),
+                "Debe vigilarse el fichero de src/test/resources, no la copia de target/test-classes");
+
+        // Copia completa del fichero: los tests que corren en paralelo siguen viendo los mismos valores
+        String original = new String(Files.readAllBytes(source), StandardCharsets.UTF_8);
+        Path file = Files.createTempFile("config", ".properties");
+        System.setProperty("config.file", file.toString());
+        try {
+            Files.write(file, (original + "\nconfig.test.reloaded=1\n").getBytes(StandardCharsets.UTF_8));
+            ConfigReader.reload();
+            Assert.assertEquals(ConfigReader.getWatchedFile(), file, "Debe vigilarse el fichero de config.file");
+            Assert.assertEquals(ConfigReader.getInt("config.test.reloaded", 0), 1);
+
+            Files.write(file, (original + "\nconfig.test.reloaded=2\n").getBytes(StandardCharsets.UTF_8));
+            ConfigReader.reload();
+            Assert.assertEquals(ConfigReader.getInt("config.test.reloaded", 0), 2,
+                    "La recarga debe leer el fichero vigilado");
+        } finally {
+            System.setProperty("config.file", source.toString());
+            ConfigReader.reload();
+            System.clearProperty("config.file");
+            Files.delete(file);
+        }
+    }
+}
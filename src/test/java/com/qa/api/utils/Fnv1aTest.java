@@ -0,0 +1,27 @@
+package com.qa.api.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class Fnv1aTest {
+
+    @Test
+    public void testKnownVectors() {
+        Assert.assertEquals(Fnv1a.hash(new byte[0]), 0xcbf29ce484222325L, "Sin bytes devuelve el offset basis");
+        Assert.assertEquals(Fnv1a.hash(bytes("a")), 0xaf63dc4c8601ec8cL);
+        Assert.assertEquals(Fnv1a.hash(bytes("foobar")), 0x85944171f73967e8L);
+    }
+
+    @Test
+    public void testBytesAreUnsigned() {
+        // Los bytes negativos deben mezclarse como 0..255, no con extensión de signo
+        Assert.assertNotEquals(Fnv1a.hash(new byte[] {(byte) 0xff}), Fnv1a.hash(new byte[] {(byte) 0x7f}));
+        Assert.assertEquals(Fnv1a.hash(new byte[] {(byte) 0xff}), (0xcbf29ce484222325L ^ 0xff) * 0x100000001b3L);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
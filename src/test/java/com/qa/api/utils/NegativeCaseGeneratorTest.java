@@ -0,0 +1,75 @@
+package com.qa.api.utils;
+
+import com.qa.api.utils.NegativeCaseGenerator.NegativeCase;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class NegativeCaseGeneratorTest {
+
+    private static NegativeCaseGenerator generator(int budget, int maxPerValidator) {
+        return new NegativeCaseGenerator(new TestDataGenerator(7, "neg"), 42, budget, maxPerValidator);
+    }
+
+    @Test
+    public void testOneCasePerValidatorCoversEverySignature() {
+        List<NegativeCase> cases = generator(10_000, 1).generate();
+
+        Set<String> signatures = new HashSet<>();
+        for (NegativeCase negativeCase : cases) {
+            Assert.assertFalse(negativeCase.invalidFields().isEmpty(), "Ningún caso debe ser completamente válido");
+            Assert.assertTrue(signatures.add(negativeCase.signature()),
+                    "Cada firma debe aparecer una sola vez: " + negativeCase.signature());
+        }
+        // name: válido o blank; email, gender y status: válido, blank o inválido; menos el caso todo válido
+        Assert.assertEquals(cases.size(), 2 * 3 * 3 * 3 - 1, "Debe haber un caso por combinación de validadores");
+    }
+
+    @Test
+    public void testBudgetAndPerValidatorLimit() {
+        List<NegativeCase> cases = generator(80, 3).generate();
+        Assert.assertEquals(cases.size(), 80, "El presupuesto limita el número de casos");
+
+        Map<String, Integer> perSignature = new HashMap<>();
+        for (NegativeCase negativeCase : cases) {
+            perSignature.merge(negativeCase.signature(), 1, Integer::sum);
+        }
+        Assert.assertEquals(perSignature.size(), 53, "La primera pasada cubre todas las firmas antes de repetir");
+        for (int count : perSignature.values()) {
+            Assert.assertTrue(count <= 3, "Como mucho 3 casos por firma");
+        }
+    }
+
+    @Test
+    public void testSameSeedSameCases() {
+        List<String> first = descriptions(generator(50, 2).generate());
+        List<String> second = descriptions(generator(50, 2).generate());
+        Assert.assertEquals(first, second, "La misma semilla debe generar los mismos casos");
+    }
+
+    @Test
+    public void testAbsentFieldsAreOmitted() {
+        for (NegativeCase negativeCase : generator(10_000, 20).generate()) {
+            Assert.assertFalse(negativeCase.payload().containsValue(NegativeCaseGenerator.ABSENT),
+                    "Un campo ausente no debe enviarse: " + negativeCase);
+            if (negativeCase.description().contains("name=absent")) {
+                Assert.assertFalse(negativeCase.payload().containsKey("name"), negativeCase.toString());
+            }
+        }
+    }
+
+    private static List<String> descriptions(List<NegativeCase> cases) {
+        List<String> descriptions = new ArrayList<>();
+        for (NegativeCase negativeCase : cases) {
+            // Los emails válidos son únicos en cada ejecución; la descripción no los incluye
+            descriptions.add(negativeCase.description());
+        }
+        return descriptions;
+    }
+}
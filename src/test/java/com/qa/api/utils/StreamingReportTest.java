@@ -0,0 +1,131 @@
+package com.qa.api.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// La suite ejecuta métodos en paralelo y cada test usa el directorio temporal de la instancia
+@Test(singleThreaded = true)
+public class StreamingReportTest {
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("stream-report");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testWriterAppendsOneLinePerRecord() throws IOException {
+        Path file = directory.resolve("results.ndjson");
+        try (StreamingReportWriter writer = new StreamingReportWriter(file)) {
+            writer.append(record("testCreate", "PASS", null));
+            writer.append(record("testDelete", "FAIL", "expected [204] but found [404]"));
+            // Cada línea está en disco en cuanto se escribe, sin esperar a close()
+            Assert.assertEquals(Files.readAllLines(file, StandardCharsets.UTF_8).size(), 2);
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        StreamingReportWriter.Record failed = StreamingReportWriter.parse(lines.get(1));
+        Assert.assertEquals(failed.getMethod(), "testDelete");
+        Assert.assertEquals(failed.getStatus(), "FAIL");
+        Assert.assertEquals(failed.getError(), "expected [204] but found [404]");
+        Assert.assertEquals(failed.getParameters(), Collections.singletonList("p1"));
+        Assert.assertFalse(lines.get(0).contains("\"error\""), "Los campos nulos no se escriben");
+
+        try (StreamingReportWriter writer = new StreamingReportWriter(file)) {
+            writer.append(record("testAgain", "SKIP", null));
+        }
+        Assert.assertEquals(Files.readAllLines(file, StandardCharsets.UTF_8).size(), 1,
+                "Una nueva ejecución empieza con el fichero vacío");
+    }
+
+    @Test
+    public void testRenderCountsAndEscapes() throws IOException {
+        Path file = directory.resolve("results.ndjson");
+        try (StreamingReportWriter writer = new StreamingReportWriter(file)) {
+            for (int i = 0; i < 500; i++) {
+                writer.append(record("testPass" + i, "PASS", null));
+            }
+            writer.append(record("testFail", "FAIL", "<script>alert(1)</script>"));
+            writer.append(record("testSkip", "SKIP", null));
+        }
+        Path html = directory.resolve("report.html");
+        StreamingHtmlReport.render(file, html, "Report & Co");
+
+        String content = new String(Files.readAllBytes(html), StandardCharsets.UTF_8);
+        Assert.assertTrue(content.contains("total 502"), "Debe mostrar el total");
+        Assert.assertTrue(content.contains("passed 500"));
+        Assert.assertTrue(content.contains("failed 1"));
+        Assert.assertTrue(content.contains("skipped 1"));
+        Assert.assertFalse(content.contains("unreadable lines"), "No hay líneas corruptas");
+        Assert.assertEquals(count(content, "<tr><td>"), 502, "Una fila por test");
+        Assert.assertTrue(content.contains("&lt;script&gt;alert(1)&lt;/script&gt;"), "El error debe escaparse");
+        Assert.assertFalse(content.contains("<script>"));
+        Assert.assertTrue(content.contains("<title>Report &amp; Co</title>"));
+        Assert.assertTrue(content.endsWith("</tbody></table></body></html>\n"), "El HTML debe estar completo");
+        Assert.assertFalse(Files.exists(directory.resolve("report.html.tmp")), "No debe quedar el temporal");
+    }
+
+    @Test
+    public void testTruncatedLastLineIsSkipped() throws IOException {
+        Path file = directory.resolve("results.ndjson");
+        try (StreamingReportWriter writer = new StreamingReportWriter(file)) {
+            writer.append(record("testOne", "PASS", null));
+            writer.append(record("testTwo", "FAIL", "boom"));
+        }
+        // Simula una JVM que muere a mitad de escribir la última línea, más una línea vacía intermedia
+        Files.write(file, Arrays.asList("", "{\"suite\":\"Suite\",\"method\":\"testThr"), StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        Path html = directory.resolve("report.html");
+        StreamingHtmlReport.render(file, html, "Report");
+
+        String content = new String(Files.readAllBytes(html), StandardCharsets.UTF_8);
+        Assert.assertTrue(content.contains("total 2"), "Solo cuentan las líneas válidas");
+        Assert.assertTrue(content.contains("passed 1"));
+        Assert.assertTrue(content.contains("failed 1"));
+        Assert.assertTrue(content.contains("unreadable lines 1"), "La línea truncada se informa");
+        Assert.assertEquals(count(content, "<tr><td>"), 2);
+        Assert.assertFalse(content.contains("testThr"), "La línea truncada no genera fila");
+    }
+
+    private static StreamingReportWriter.Record record(String method, String status, String error) {
+        StreamingReportWriter.Record record = new StreamingReportWriter.Record();
+        record.setSuite("Suite");
+        record.setTest("Unit");
+        record.setClassName("com.qa.api.ExampleTest");
+        record.setMethod(method);
+        record.setStatus(status);
+        record.setStart(1000);
+        record.setEnd(1250);
+        record.setParameters(Collections.singletonList("p1"));
+        record.setError(error);
+        return record;
+    }
+
+    private static int count(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+}
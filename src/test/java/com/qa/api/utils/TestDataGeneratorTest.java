@@ -0,0 +1,59 @@
+package com.qa.api.utils;
+
+import com.qa.api.model.User;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class TestDataGeneratorTest {
+
+    @Test
+    public void testSameSeedProducesSameUsers() {
+        TestDataGenerator first = new TestDataGenerator(42L, "ns");
+        TestDataGenerator second = new TestDataGenerator(42L, "ns");
+
+        for (int i = 0; i < 100; i++) {
+            User a = first.nextUser();
+            User b = second.nextUser();
+            Assert.assertEquals(a.getName(), b.getName(), "El nombre debe ser reproducible");
+            Assert.assertEquals(a.getEmail(), b.getEmail(), "El email debe ser reproducible");
+            Assert.assertEquals(a.getGender(), b.getGender(), "El género debe ser reproducible");
+        }
+    }
+
+    @Test
+    public void testEmailsAreUniqueAcrossThreads() throws InterruptedException {
+        TestDataGenerator generator = new TestDataGenerator(7L, "run1");
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    emails.add(generator.nextUser().getEmail());
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "La generación debe terminar");
+
+        Assert.assertEquals(emails.size(), 40000, "No debe haber emails repetidos");
+    }
+
+    @Test
+    public void testPregenerateReturnsValidPayloads() {
+        List<byte[]> payloads = new TestDataGenerator(1L, "bulk").pregeneratePayloads(50);
+
+        Assert.assertEquals(payloads.size(), 50, "Debe generar 50 payloads");
+        String json = new String(payloads.get(0), StandardCharsets.UTF_8);
+        Assert.assertTrue(json.contains("\"email\":\"user.bulk.0@example.com\""),
+                "El email debe usar el namespace: " + json);
+        Assert.assertTrue(json.contains("\"status\":\"active\""), "El status debe ser active: " + json);
+    }
+}
@@ -3,13 +3,101 @@ package com.qa.api.utils;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.qa.api.metrics.ClientMetrics;
+import com.qa.api.metrics.MetricsExporter;
+import com.qa.api.test.PostCreateUser;
+import com.qa.api.sla.LatencyCheck;
+import com.qa.api.sla.LatencyResult;
+import com.qa.api.sla.LatencySla;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-public class TestListener implements ITestListener {
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
-    private static ExtentReports extent = ExtentReportManager.createInstance();
+public class TestListener implements ITestListener, ISuiteListener, IHookable {
+
+    private static final int MAX_ERROR_CHARS = 8000;
+    private static final String LATENCY_ATTRIBUTE = "latency.sla";
+
+    private static boolean streaming = ExtentReportManager.isStreaming();
+    private static ExtentReports extent = streaming ? null : ExtentReportManager.createInstance();
+
+    @Override
+    public void onStart(ISuite suite) {
+        try {
+            PostCreateUser.warmUp();
+        } catch (RuntimeException e) {
+            System.out.println("Request context warm-up failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        PostCreateUser.cleanup();
+        // Resumen de latencias del cliente como último nodo del reporte
+        List<ClientMetrics.SeriesSnapshot> metrics = ClientMetrics.global().snapshot();
+        if (!streaming && !metrics.isEmpty()) {
+            ExtentTest summary = extent.createTest("API Client Metrics",
+                    "Latencia por operación y endpoint (ver target/metrics)");
+            summary.info(MarkupHelper.createTable(MetricsExporter.summaryTable(metrics)));
+            summary.info("Client " + ClientMetrics.global().connections().snapshot());
+            if (PostCreateUser.responseCache().isEnabled()) {
+                summary.info("Client " + PostCreateUser.responseCache().stats());
+            }
+            List<Path> exported = PostCreateUser.exportedMetrics();
+            if (!exported.isEmpty()) {
+                summary.info("Exported metrics: " + exported.stream()
+                        .map(TestListener::reportLink)
+                        .collect(Collectors.joining(" | ")));
+            }
+            extent.flush();
+        }
+    }
+
+    // Los métodos con @LatencySla se ejecutan en bucle (warm-up + iteraciones) y se evalúa su presupuesto
+    @Override
+    public void run(IHookCallBack callBack, ITestResult result) {
+        Method method = result.getMethod().getConstructorOrMethod().getMethod();
+        LatencySla sla = method.getAnnotation(LatencySla.class);
+        if (sla == null) {
+            callBack.runTestMethod(result);
+            return;
+        }
+        Object instance = result.getInstance();
+        Object[] parameters = result.getParameters();
+        LatencyResult latency = LatencyCheck.of(result.getMethod().getMethodName(), sla).measure(() -> {
+            try {
+                method.invoke(instance, parameters);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+        result.setAttribute(LATENCY_ATTRIBUTE, latency);
+        System.out.println("Latency SLA " + latency);
+        // TestNG exige un status explícito cuando el hook no invoca el callback
+        try {
+            latency.assertWithinBudget();
+            result.setStatus(ITestResult.SUCCESS);
+        } catch (AssertionError e) {
+            result.setThrowable(e);
+            result.setStatus(ITestResult.FAILURE);
+        }
+    }
 
     @Override
     public void onStart(ITestContext context) {
@@ -19,30 +107,102 @@ public class TestListener implements ITestListener {
     @Override
     public void onFinish(ITestContext context) {
         System.out.println("Test Suite finished: " + context.getName());
-        extent.flush();
+        // Las entradas del reporte se escriben en segundo plano: vaciar la cola antes de generar el HTML
+        AsyncLog.flush();
+        if (streaming) {
+            ExtentReportManager.renderStreamReport();
+        } else {
+            extent.flush();
+        }
     }
 
     @Override
     public void onTestStart(ITestResult result) {
+        if (streaming) {
+            return;
+        }
         ExtentTest test = extent.createTest(result.getMethod().getMethodName(),
                 result.getMethod().getDescription());
         ExtentReportManager.setTest(test);
-        ExtentReportManager.getTest().log(Status.INFO, "Test started: " + result.getMethod().getMethodName());
+        AsyncLog.report(test, Status.INFO, "Test started: " + result.getMethod().getMethodName());
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        ExtentReportManager.getTest().log(Status.PASS, "Test passed: " + result.getMethod().getMethodName());
+        if (streaming) {
+            ExtentReportManager.getStreamWriter().append(toRecord(result, "PASS"));
+            return;
+        }
+        reportLatency(result);
+        AsyncLog.report(ExtentReportManager.getTest(), Status.PASS,
+                "Test passed: " + result.getMethod().getMethodName());
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        ExtentReportManager.getTest().log(Status.FAIL, "Test failed: " + result.getMethod().getMethodName());
-        ExtentReportManager.getTest().log(Status.FAIL, result.getThrowable());
+        if (streaming) {
+            ExtentReportManager.getStreamWriter().append(toRecord(result, "FAIL"));
+            return;
+        }
+        reportLatency(result);
+        AsyncLog.report(ExtentReportManager.getTest(), Status.FAIL,
+                "Test failed: " + result.getMethod().getMethodName());
+        AsyncLog.report(ExtentReportManager.getTest(), Status.FAIL, result.getThrowable());
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        ExtentReportManager.getTest().log(Status.SKIP, "Test skipped: " + result.getMethod().getMethodName());
+        if (streaming) {
+            ExtentReportManager.getStreamWriter().append(toRecord(result, "SKIP"));
+            return;
+        }
+        AsyncLog.report(ExtentReportManager.getTest(), Status.SKIP,
+                "Test skipped: " + result.getMethod().getMethodName());
+    }
+
+    private static void reportLatency(ITestResult result) {
+        Object latency = result.getAttribute(LATENCY_ATTRIBUTE);
+        if (latency != null) {
+            AsyncLog.report(ExtentReportManager.getTest(), Status.INFO, "Latency SLA " + latency);
+        }
+    }
+
+    private static StreamingReportWriter.Record toRecord(ITestResult result, String status) {
+        StreamingReportWriter.Record record = new StreamingReportWriter.Record();
+        record.setSuite(result.getTestContext().getSuite().getName());
+        record.setTest(result.getTestContext().getName());
+        record.setClassName(result.getTestClass().getName());
+        record.setMethod(result.getMethod().getMethodName());
+        String description = result.getMethod().getDescription();
+        record.setDescription(description != null && !description.isEmpty() ? description : null);
+        record.setStatus(status);
+        record.setStart(result.getStartMillis());
+        record.setEnd(result.getEndMillis());
+        if (result.getParameters() != null && result.getParameters().length > 0) {
+            List<String> parameters = new ArrayList<>();
+            for (Object parameter : result.getParameters()) {
+                parameters.add(String.valueOf(parameter));
+            }
+            record.setParameters(parameters);
+        }
+        Object latency = result.getAttribute(LATENCY_ATTRIBUTE);
+        if (latency != null) {
+            record.setLog(Collections.singletonList("Latency SLA " + latency));
+        }
+        // En un PASS el throwable solo puede ser una excepción esperada: no se guarda
+        if (result.getThrowable() != null && !"PASS".equals(status)) {
+            StringWriter trace = new StringWriter();
+            result.getThrowable().printStackTrace(new PrintWriter(trace));
+            String error = trace.toString();
+            record.setError(error.length() > MAX_ERROR_CHARS ? error.substring(0, MAX_ERROR_CHARS) + "..." : error);
+        }
+        return record;
+    }
+
+    // Enlace relativo al directorio del reporte, para que siga funcionando si se mueve target/ entero
+    private static String reportLink(Path file) {
+        Path reportDir = Paths.get(ConfigReader.getExtentReportPath()).toAbsolutePath();
+        String href = reportDir.relativize(file.toAbsolutePath()).toString().replace('\\', '/');
+        return "<a href='" + href + "'>" + file.getFileName() + "</a>";
     }
 }
@@ -0,0 +1,99 @@
+package com.qa.api.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class UserPayloadWriterTest {
+
+    @Test
+    public void testRoundTripEscapesSpecialCharacters() throws IOException {
+        String name = "O'Brien \"Junior\" \\ C:\\path\t\n\r\u0000\u001f end";
+        String email = "josé.ñúñez+李@example.com";
+        JsonNode node = read(UserPayloadWriter.write(name, email, "male", "active"));
+
+        Assert.assertEquals(node.get("name").asText(), name, "Comillas, barras y controles deben sobrevivir");
+        Assert.assertEquals(node.get("email").asText(), email, "El unicode debe escribirse en UTF-8");
+        Assert.assertEquals(node.get("gender").asText(), "male");
+        Assert.assertEquals(node.get("status").asText(), "active");
+    }
+
+    @Test
+    public void testUnicodeOutsideBmp() throws IOException {
+        String name = "Cohete 🚀 y 𝄞";
+        Assert.assertEquals(read(UserPayloadWriter.write(name, "a@b.co", null, null)).get("name").asText(), name);
+    }
+
+    @Test
+    public void testNullFieldsAreOmitted() throws IOException {
+        JsonNode node = read(UserPayloadWriter.write("Ana", "ana@example.com", null, null));
+        Assert.assertEquals(fieldNames(node), Arrays.asList("name", "email"), "Los campos nulos no se escriben");
+    }
+
+    @Test
+    public void testBufferReuseDoesNotLeakPreviousPayload() throws IOException {
+        String longName = repeat('x', 1000);
+        byte[] first = UserPayloadWriter.write(longName, "long@example.com", "female", "inactive");
+        byte[] second = UserPayloadWriter.write("A", "a@b.co", null, null);
+
+        Assert.assertEquals(new String(second, StandardCharsets.UTF_8), "{\"name\":\"A\",\"email\":\"a@b.co\"}",
+                "El segundo payload no debe contener bytes del primero");
+        Assert.assertTrue(second.length < first.length);
+        Assert.assertEquals(read(first).get("name").asText(), longName, "El array devuelto es una copia propia");
+    }
+
+    @Test
+    public void testThreadsUseIndependentBuffers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                String name = "Hilo " + t;
+                Callable<Boolean> task = () -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String email = "u" + i + "@example.com";
+                        JsonNode node = read(UserPayloadWriter.write(name, email, null, null));
+                        if (!name.equals(node.get("name").asText()) || !email.equals(node.get("email").asText())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+                results.add(executor.submit(task));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(), "Cada hilo debe leer exactamente lo que escribió");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static JsonNode read(byte[] payload) throws IOException {
+        return JsonSupport.mapper().readTree(payload);
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        Iterator<String> iterator = node.fieldNames();
+        iterator.forEachRemaining(names::add);
+        return names;
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
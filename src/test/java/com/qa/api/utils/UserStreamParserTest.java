@@ -0,0 +1,55 @@
+package com.qa.api.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class UserStreamParserTest {
+
+    private static final String USERS = "["
+            + "{\"id\":1,\"name\":\"Ana\",\"email\":\"ana@example.com\",\"gender\":\"female\",\"status\":\"active\"},"
+            + "{\"id\":2,\"name\":\"Luis\",\"email\":\"luis@example.com\",\"gender\":\"male\",\"status\":\"inactive\","
+            + "\"extra\":{\"tags\":[\"a\",\"b\"]}},"
+            + "{\"id\":3,\"name\":\"Bad\",\"email\":\"no-at-sign\",\"gender\":\"male\",\"status\":\"active\"}"
+            + "]";
+
+    @Test
+    public void testParseUsersReadsAndValidatesEachElement() throws IOException {
+        List<String> ids = new ArrayList<>();
+        UserStreamParser.Result result = UserStreamParser.parseUsers(bytes(USERS), user -> ids.add(user.id()));
+
+        Assert.assertEquals(result.count(), 3, "Debe leer los tres usuarios");
+        Assert.assertEquals(ids.size(), 3, "El visitor debe recibir los tres usuarios");
+        Assert.assertEquals(ids.get(1), "2", "Los campos anidados no deben alterar la lectura");
+        Assert.assertEquals(result.invalid(), 1, "Solo el tercer usuario es inválido");
+        Assert.assertTrue(result.errors().get(0).contains("invalid email"), "Debe indicar el email inválido");
+    }
+
+    @Test
+    public void testParseUsersStopsWhenVisitorReturnsFalse() throws IOException {
+        UserStreamParser.Result result = UserStreamParser.parseUsers(bytes(USERS), user -> false);
+
+        Assert.assertEquals(result.count(), 1, "Debe detenerse tras el primer usuario");
+        Assert.assertTrue(result.stopped(), "El resultado debe indicar que la lectura se detuvo");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testParseUsersRejectsNonArray() throws IOException {
+        UserStreamParser.parseUsers(bytes("{\"message\":\"Authentication failed\"}"), user -> true);
+    }
+
+    @Test
+    public void testReadIdSkipsNestedFields() throws IOException {
+        String body = "{\"meta\":{\"id\":99},\"id\":1234,\"name\":\"Ana\"}";
+
+        Assert.assertEquals(UserStreamParser.readId(bytes(body)), "1234", "Debe devolver el id de primer nivel");
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package com.qa.api.utils;
+
+import org.testng.IExecutorServiceFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor de TestNG que ejecuta cada método de test (o fila de un DataProvider paralelo) en su propio
+ * virtual thread. Los tamaños de pool que pide TestNG se ignoran: el límite real de concurrencia contra la
+ * API lo pone el pool de contextos de PostCreateUser (api.pool.size).
+ *
+ * Requiere JDK 21+. Se accede a la API por reflexión para que el proyecto siga compilando con Java 11.
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        return newVirtualThreadPerTaskExecutor("testng-vt-");
+    }
+
+    // Equivalente a Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())
+    static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) perTask.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or newer (running on "
+                    + System.getProperty("java.version") + ")", e);
+        }
+    }
+}
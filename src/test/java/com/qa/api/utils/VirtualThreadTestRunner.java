@@ -0,0 +1,25 @@
+package com.qa.api.utils;
+
+import org.testng.TestNG;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Lanza las suites de TestNG con VirtualThreadExecutorFactory.
+ *
+ * Surefire no permite configurar el IExecutorServiceFactory de TestNG, por eso el perfil
+ * virtual-threads del pom ejecuta esta clase en lugar del plugin surefire.
+ * Uso: java -cp ... com.qa.api.utils.VirtualThreadTestRunner [testng.xml ...]
+ */
+public class VirtualThreadTestRunner {
+
+    public static void main(String[] args) {
+        TestNG testng = new TestNG();
+        testng.setTestSuites(args.length > 0 ? Arrays.asList(args) : Collections.singletonList("testng.xml"));
+        testng.setExecutorServiceFactory(new VirtualThreadExecutorFactory());
+        testng.setOutputDirectory(System.getProperty("testng.output.directory", "target/surefire-reports"));
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}